@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Servlet vs reactive serving mode, same heap, same load.
+# Usage: scripts/bench-serving-modes.sh [heap=256m] [concurrency=512] [seconds=30]
+# Needs the Mongo from application.properties (or SPRING_DATA_MONGODB_URI) to be reachable;
+# point it at a high-latency replica to see the thread-pool ceiling of the servlet mode.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+HEAP=${1:-256m}
+CONCURRENCY=${2:-512}
+SECONDS_PER_RUN=${3:-30}
+PORT=${BENCH_PORT:-18080}
+MGMT_PORT=$((PORT + 1))
+SECRET=${APP_JWT_SECRET:-change-this-super-long-secret-please}
+STARTUP_TIMEOUT=${BENCH_STARTUP_TIMEOUT:-180}
+
+./mvnw -q -DskipTests package
+./mvnw -q -Pload-test test-compile
+JAR=$(ls target/carenet-api-*.jar | grep -v original | head -1)
+
+bench() {
+  local label=$1; shift
+  java -Xms"$HEAP" -Xmx"$HEAP" -jar "$JAR" --server.port="$PORT" --management.server.port="$MGMT_PORT" \
+    --management.endpoint.health.probes.enabled=true --app.jwt.secret="$SECRET" "$@" \
+    > "target/bench-$label.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  # readiness, not overall health: a DOWN indicator (e.g. a missing unique index) would never clear
+  local waited=0
+  until curl -fs -o /dev/null "http://localhost:$MGMT_PORT/actuator/health/readiness"; do
+    kill -0 "$pid" 2>/dev/null || { echo "app exited during startup, see target/bench-$label.log" >&2; exit 1; }
+    (( ++waited < STARTUP_TIMEOUT )) || { echo "app not ready after ${STARTUP_TIMEOUT}s, see target/bench-$label.log" >&2; exit 1; }
+    sleep 1
+  done
+
+  ./mvnw -q -Pload-test exec:java -Dload.main=com.carenet.api.loadtest.ServingModeBenchmark \
+    -Dbench.url="http://localhost:$PORT" -Dbench.label="$label" \
+    -Dbench.concurrency="$CONCURRENCY" -Dbench.seconds="$SECONDS_PER_RUN" -Dapp.jwt.secret="$SECRET"
+
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+echo "heap=$HEAP concurrency=$CONCURRENCY duration=${SECONDS_PER_RUN}s"
+bench servlet
+bench reactive --spring.profiles.active=reactive
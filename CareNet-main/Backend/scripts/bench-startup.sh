@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Cold start: default jar vs the fast-startup build (Spring AOT + AppCDS, pom profile "fast-startup").
+# Per build, median and best of N starts:
+#   ready  process launch -> /actuator/health/readiness UP
+#   first  latency of the first real request (login for an unknown account: dispatcher,
+#          Jackson, security chain, one Mongo round-trip; no BCrypt)
+# Usage: scripts/bench-startup.sh [runs=5] [heap=256m]
+# Needs the Mongo from application.properties (or SPRING_DATA_MONGODB_URI) to be reachable.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+HEAP=${2:-256m}
+PORT=${BENCH_PORT:-18080}
+MGMT_PORT=$((PORT + 1))
+OUT=target/startup-bench
+
+# the second build cleans target/, so park the default jar outside it
+TMP=$(mktemp -d)
+./mvnw -q -DskipTests clean package
+cp "$(ls target/carenet-api-*.jar | grep -v original | head -1)" "$TMP/default.jar"
+./mvnw -q -DskipTests -Dfast-startup clean package
+mkdir -p "$OUT"; mv "$TMP/default.jar" "$OUT/default.jar"; rmdir "$TMP"
+FAST_JAR=$(ls target/fast-startup/carenet-api-*.jar | head -1)
+
+now_ms() { date +%s%3N; }
+
+# one cold start; prints "<ready ms> <first request ms>"
+start_once() {
+  local log=$1; shift
+  local t0; t0=$(now_ms)
+  java -Xms"$HEAP" -Xmx"$HEAP" "$@" --server.port="$PORT" --management.server.port="$MGMT_PORT" \
+    --management.endpoint.health.probes.enabled=true > "$log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -fs -o /dev/null "http://localhost:$MGMT_PORT/actuator/health/readiness"; do
+    kill -0 "$pid" 2>/dev/null || { echo "app exited during startup, see $log" >&2; exit 1; }
+    sleep 0.02
+  done
+  local ready=$(( $(now_ms) - t0 ))
+  local first
+  first=$(curl -s -o /dev/null -w '%{time_total}' -H 'Content-Type: application/json' \
+    -d '{"email":"startup-bench@example.invalid","password":"x"}' "http://localhost:$PORT/api/auth/login")
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  trap - EXIT
+  echo "$ready $(awk -v t="$first" 'BEGIN { printf "%.1f", t * 1000 }')"
+}
+
+# label, then JVM args up to and including -jar <jar>
+bench() {
+  local label=$1; shift
+  local ready=() first=()
+  for i in $(seq 1 "$RUNS"); do
+    local result r f
+    result=$(start_once "$OUT/$label-$i.log" "$@")
+    read -r r f <<< "$result"
+    ready+=("$r"); first+=("$f")
+  done
+  printf '%-12s %10s %10s %12s %12s\n' "$label" \
+    "$(median "${ready[@]}")" "$(best "${ready[@]}")" "$(median "${first[@]}")" "$(best "${first[@]}")"
+}
+
+median() { printf '%s\n' "$@" | sort -g | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'; }
+best()   { printf '%s\n' "$@" | sort -g | head -1; }
+
+echo "runs=$RUNS heap=$HEAP"
+printf '%-12s %10s %10s %12s %12s\n' "build" "ready p50" "ready min" "first p50" "first min"
+bench default -jar "$OUT/default.jar"
+bench aot-cds -XX:SharedArchiveFile=target/fast-startup/application.jsa -Dspring.aot.enabled=true -jar "$FAST_JAR"
+echo "(ms; logs in $OUT/)"
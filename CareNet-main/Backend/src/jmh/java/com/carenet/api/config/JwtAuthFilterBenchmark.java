@@ -0,0 +1,78 @@
+package com.carenet.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthFilter.doFilterInternal with and without the verified-token cache,
+ * plus JwtService.create (one sign per login / refresh).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private JwtService jwt;
+    private JwtAuthFilter uncached;
+    private JwtAuthFilter cached;
+    private MockHttpServletRequest req;
+    private MockHttpServletResponse res;
+    private Map<String, Object> claims;
+
+    @Setup
+    public void setup() throws Exception {
+        AppJwtProperties props = new AppJwtProperties();
+        props.setSecret("benchmark-secret-benchmark-secret-0123456789");
+        props.setTtlSeconds(3600);
+
+        claims = Map.of(
+                "sub", "64f0c0ffee0000000000abcd",
+                "email", "bench@carenet.local",
+                "roles", List.of("CARE_SEEKER"));
+        jwt = new JwtService(props);
+        String token = jwt.create(claims);
+
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        uncached = new JwtAuthFilter(new JwtTokenVerifier(props, null, null, meters));
+        cached = new JwtAuthFilter(new JwtTokenVerifier(props, new VerifiedTokenCache(10_000), null, meters));
+
+        req = new MockHttpServletRequest("GET", "/api/caregiver/profile/public");
+        req.addHeader("Authorization", "Bearer " + token);
+        res = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object filterUncached() throws Exception {
+        return filter(uncached);
+    }
+
+    @Benchmark
+    public Object filterCached() throws Exception {
+        return filter(cached);
+    }
+
+    @Benchmark
+    public String createToken() throws Exception {
+        return jwt.create(claims);
+    }
+
+    private Object filter(JwtAuthFilter f) throws Exception {
+        req.removeAttribute("uid");
+        f.doFilterInternal(req, res, new MockFilterChain());
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) throw new IllegalStateException("token was rejected");
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+}
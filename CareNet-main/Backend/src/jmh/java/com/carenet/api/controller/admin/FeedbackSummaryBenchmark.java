@@ -0,0 +1,92 @@
+package com.carenet.api.controller.admin;
+
+import com.carenet.api.model.feedback.Feedback;
+import com.carenet.api.model.feedback.FeedbackRollup;
+import com.carenet.api.service.FeedbackRollupService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin feedback summary and row mapping over synthetic feedback.
+ * summaryFromList folds every document (the old full-scan summary, minus the I/O);
+ * summaryFromRollup is what GET /api/admin/feedback/summary does now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedbackSummaryBenchmark {
+
+    private static final String[] FEATURES = {"Scheduling", "Messaging", "Payments", "Reviews", "Reports", "Search"};
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Feedback> feedback;
+    private FeedbackRollup rollup;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        feedback = new ArrayList<>(size);
+        Instant t = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < size; i++) {
+            Feedback f = new Feedback();
+            f.setId(String.format("%024x", i));
+            f.setFirst("First" + i);
+            f.setLast("Last" + i);
+            f.setEmail("user" + i + "@example.com");
+            f.setRole(i % 3 == 0 ? "Manager" : "Owner / Founder");
+            f.setNotes(i % 4 == 0 ? null : "Easy to use, would like \"bulk\" export, and faster search on mobile.");
+            f.setQuality(1 + rnd.nextInt(5));
+            f.setSupport(1 + rnd.nextInt(5));
+            f.setUseful(List.of(FEATURES[rnd.nextInt(FEATURES.length)], FEATURES[rnd.nextInt(FEATURES.length)]));
+            f.setMissing(List.of(FEATURES[rnd.nextInt(FEATURES.length)]));
+            f.setCreatedAt(t.plusSeconds(i * 60L));
+            feedback.add(f);
+        }
+        rollup = fold(feedback);
+    }
+
+    @Benchmark
+    public Object summaryFromList() {
+        return AdminFeedbackController.toSummary(fold(feedback));
+    }
+
+    @Benchmark
+    public Object summaryFromRollup() {
+        return AdminFeedbackController.toSummary(rollup);
+    }
+
+    @Benchmark
+    public Object toRows() {
+        return feedback.stream().map(AdminFeedbackController::toRow).toList();
+    }
+
+    // same result FeedbackRollupService.rebuild() gets from its $group pipeline
+    private static FeedbackRollup fold(List<Feedback> all) {
+        Map<String, Long> stars = new HashMap<>();
+        long quality = 0, support = 0;
+        for (Feedback f : all) {
+            stars.merge(String.valueOf(FeedbackRollupService.star(f.getQuality(), f.getSupport())), 1L, Long::sum);
+            quality += f.getQuality();
+            support += f.getSupport();
+        }
+        FeedbackRollup r = new FeedbackRollup();
+        r.setId(FeedbackRollup.GLOBAL);
+        r.setTotal(all.size());
+        r.setStars(stars);
+        r.setQualitySum(quality);
+        r.setSupportSum(support);
+        return r;
+    }
+}
@@ -0,0 +1,105 @@
+package com.carenet.api.controller.profile;
+
+import com.carenet.api.model.profile.CareGiverCardDto;
+import com.carenet.api.model.profile.CareGiverProfile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a full CareGiverProfile (GET /public/{id}) and of a page of
+ * CareGiverCardDto (GET /public/page), with the mapper configured the way Boot does.
+ * "small" is a freshly created profile, "large" a filled-in one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProfileJsonBenchmark {
+
+    @Param({"small", "large"})
+    public String profile;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper json;
+    private CareGiverProfile full;
+    private List<CareGiverCardDto> cards;
+
+    @Setup
+    public void setup() {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        boolean large = profile.equals("large");
+        full = profile(0, large);
+        cards = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) cards.add(CareGiverProfileController.toCard(profile(i, large)));
+    }
+
+    @Benchmark
+    public byte[] fullProfile() throws Exception {
+        return json.writeValueAsBytes(full);
+    }
+
+    @Benchmark
+    public byte[] cardPage() throws Exception {
+        return json.writeValueAsBytes(new CareGiverProfileController.CardPage(cards, "NjRmMGMwZmZlZTAwMDAwMDAwMDBhYmNk"));
+    }
+
+    private static CareGiverProfile profile(int i, boolean large) {
+        CareGiverProfile p = new CareGiverProfile();
+        p.setId(String.format("%024x", i));
+        p.setEmail("caregiver" + i + "@example.com");
+        p.setVersion(3L);
+        p.setUsername("Caregiver " + i);
+        p.setAvatarUrl("https://cdn.example.com/avatars/" + i + ".jpg");
+        p.setTagline("Patient, reliable elder and child care");
+        if (!large) return p;
+
+        p.setAbout("Ten years of home care for elderly and post-surgery patients. ".repeat(12));
+        List<CareGiverProfile.Lang> langs = new ArrayList<>();
+        for (String l : new String[]{"English", "Sinhala", "Tamil"}) {
+            CareGiverProfile.Lang lang = new CareGiverProfile.Lang();
+            lang.setLang(l);
+            lang.setLevel("Fluent");
+            langs.add(lang);
+        }
+        p.setLanguages(langs);
+        List<CareGiverProfile.Cert> certs = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            CareGiverProfile.Cert cert = new CareGiverProfile.Cert();
+            cert.setName("Certificate " + c);
+            cert.setIssuer("Red Cross");
+            cert.setYear(String.valueOf(2015 + c));
+            certs.add(cert);
+        }
+        p.setCertifications(certs);
+        List<CareGiverProfile.Work> work = new ArrayList<>();
+        for (int w = 0; w < 5; w++) {
+            CareGiverProfile.Work job = new CareGiverProfile.Work();
+            job.setRole("Home carer");
+            job.setCompany("Care Agency " + w);
+            job.setFrom(String.valueOf(2014 + w * 2));
+            job.setTo(w == 4 ? "Present" : String.valueOf(2016 + w * 2));
+            work.add(job);
+        }
+        p.setWorkHistory(work);
+        p.setServiceRadius("25 km within Colombo");
+        p.setServiceLocation(new GeoJsonPoint(79.8612, 6.9271));
+        p.setServiceRadiusKm(25.0);
+        p.setYears("10 years");
+        Set<String> skills = new LinkedHashSet<>(List.of("Elder Care", "Child Care", "CPR", "First Aid",
+                "Dementia Care", "Medication", "Cooking", "Mobility Support"));
+        p.setSkills(skills);
+        return p;
+    }
+}
@@ -0,0 +1,152 @@
+package com.carenet.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP driver: N virtual users each run a scenario step in a loop until the
+ * deadline. Every request is timed into an HdrHistogram keyed by endpoint label.
+ */
+final class Driver {
+
+    /** One iteration of a virtual user; {@code user} is its index (0..users-1). */
+    @FunctionalInterface
+    interface Step {
+        void run(Driver d, int user) throws Exception;
+    }
+
+    private static final long MAX_TRACKED_NANOS = Duration.ofMinutes(2).toNanos();
+
+    private final HttpClient http;
+    private final String base;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private static final class Endpoint {
+        final Histogram latency = new ConcurrentHistogram(MAX_TRACKED_NANOS, 3);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder failures = new LongAdder();     // I/O errors, timeouts
+    }
+
+    Driver(String base) {
+        this.base = base;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /* ========= requests (timed) ========= */
+
+    HttpResponse<String> get(String label, String path, String token) {
+        return send(label, request(path, token).GET().build());
+    }
+
+    HttpResponse<String> post(String label, String path, String token, String json) {
+        return send(label, request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        return b;
+    }
+
+    private HttpResponse<String> send(String label, HttpRequest req) {
+        Endpoint e = endpoints.computeIfAbsent(label, k -> new Endpoint());
+        long t0 = System.nanoTime();
+        try {
+            HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
+            e.latency.recordValue(Math.min(System.nanoTime() - t0, MAX_TRACKED_NANOS));
+            e.statuses.computeIfAbsent(res.statusCode(), k -> new LongAdder()).increment();
+            return res;
+        } catch (IOException ex) {
+            e.failures.increment();
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /* ========= scenarios ========= */
+
+    /** Run {@code step} on {@code users} virtual threads for {@code duration}; returns the wall time. */
+    Duration run(int users, Duration duration, Step step) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                int user = u;
+                pool.submit(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        try {
+                            step.run(this, user);
+                        } catch (Exception ex) {
+                            // a broken response body etc.; the request itself is already recorded
+                        }
+                    }
+                });
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    void reset() {
+        endpoints.clear();
+    }
+
+    /* ========= reporting ========= */
+
+    void report(String scenario, Duration wall, PrintStream out, Path hgrmDir) throws IOException {
+        out.printf("%n== %s (%.1f s) ==%n", scenario, wall.toMillis() / 1000.0);
+        out.printf("%-28s %9s %9s %8s %8s %8s %8s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses");
+        double seconds = wall.toNanos() / 1e9;
+        for (Map.Entry<String, Endpoint> en : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint e = en.getValue();
+            Histogram h = e.latency;
+            Map<Integer, Long> statuses = new TreeMap<>();
+            e.statuses.forEach((k, v) -> statuses.put(k, v.sum()));
+            List<String> codes = new ArrayList<>();
+            statuses.forEach((k, v) -> codes.add(k + "=" + v));
+            if (e.failures.sum() > 0) codes.add("io=" + e.failures.sum());
+
+            out.printf("%-28s %9d %9.0f %8.1f %8.1f %8.1f %8.1f  %s%n",
+                    en.getKey(), h.getTotalCount(), h.getTotalCount() / seconds,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()), String.join(" ", codes));
+
+            // full distribution for plotting / comparison (HdrHistogram .hgrm, values in ms)
+            Files.createDirectories(hgrmDir);
+            Path file = hgrmDir.resolve(scenario + "_" + en.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream ps = new PrintStream(Files.newOutputStream(file))) {
+                h.outputPercentileDistribution(ps, 1_000_000.0);
+            }
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.carenet.api.loadtest;
+
+import com.carenet.api.CarenetApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load test: starts a Mongo stand-in, seeds synthetic data, boots the API on
+ * a random port in this JVM and drives each scenario in turn, printing throughput and
+ * p50/p99/p999 per endpoint (full .hgrm distributions go to target/loadtest/).
+ *
+ *   ./mvnw -Pload-test test-compile exec:java [-Dload.seconds=30 -Dload.scenarios=login,browse,summary,feedback]
+ *
+ * Scenarios:
+ *   login     login storm on /api/auth/login (BCrypt bound; 503 = hashing pool full)
+ *   browse    care seekers listing /api/caregiver/profile/public and opening /public/{id}
+ *   summary   admins refreshing /api/admin/feedback/summary
+ *   feedback  bursts of POST /api/feedback
+ *
+ * Other knobs (-D): load.mongo-uri (use an existing mongod; its "carenet_loadtest" database is
+ * dropped), load.seekers, load.caregivers, load.feedback, load.users (virtual users per scenario),
+ * load.login-users, load.warmup-seconds.
+ */
+public final class LoadTest {
+
+    private static final String DATABASE = "carenet_loadtest";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int warmup = Integer.getInteger("load.warmup-seconds", 5);
+        int users = Integer.getInteger("load.users", 200);
+        int loginUsers = Integer.getInteger("load.login-users", 64);
+        List<String> scenarios = Arrays.asList(System.getProperty("load.scenarios", "login,browse,summary,feedback").split(","));
+
+        try (MongoStandIn mongo = MongoStandIn.start(System.getProperty("load.mongo-uri"))) {
+            System.out.println("Mongo: " + mongo.uri());
+            Seeder seeder = new Seeder(mongo.uri(), DATABASE);
+            Seeder.Seeded data = seeder.seed(
+                    Integer.getInteger("load.seekers", 2000),
+                    Integer.getInteger("load.caregivers", 500),
+                    Integer.getInteger("load.feedback", 20000));
+            System.out.printf("Seeded %d seekers, %d caregivers%n", data.seekerEmails().size(), data.caregiverIds().size());
+
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            try (ConfigurableApplicationContext app = SpringApplication.run(CarenetApiApplication.class,
+                    "--server.port=0",
+                    "--management.server.port=0",
+                    "--spring.data.mongodb.uri=" + mongo.uri() + "/" + DATABASE,
+                    "--spring.data.mongodb.database=" + DATABASE,
+                    "--logging.level.root=WARN")) {
+
+                String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+                Driver driver = new Driver(base);
+
+                // tokens up front so only the login scenario pays for BCrypt
+                String adminToken = login(driver, data.adminEmail());
+                List<String> seekerTokens = new ArrayList<>();
+                for (int i = 0; i < Math.min(50, data.seekerEmails().size()); i++) {
+                    seekerTokens.add(login(driver, data.seekerEmails().get(i)));
+                }
+                Path out = Path.of("target", "loadtest");
+
+                for (String name : scenarios) {
+                    Driver.Step step = switch (name.trim()) {
+                        case "login" -> (d, u) -> d.post("POST /auth/login", "/api/auth/login", null,
+                                loginBody(data.seekerEmails().get(ThreadLocalRandom.current().nextInt(data.seekerEmails().size()))));
+                        case "browse" -> (d, u) -> {
+                            String token = seekerTokens.get(u % seekerTokens.size());
+                            d.get("GET /public", "/api/caregiver/profile/public", token);
+                            for (int i = 0; i < 3; i++) {
+                                String id = data.caregiverIds().get(ThreadLocalRandom.current().nextInt(data.caregiverIds().size()));
+                                d.get("GET /public/{id}", "/api/caregiver/profile/public/" + id, token);
+                            }
+                        };
+                        case "summary" -> (d, u) -> d.get("GET /admin/feedback/summary", "/api/admin/feedback/summary", adminToken);
+                        case "feedback" -> (d, u) -> d.post("POST /feedback", "/api/feedback",
+                                seekerTokens.get(u % seekerTokens.size()), feedbackBody(data.seekerEmails().get(u % data.seekerEmails().size())));
+                        default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+                    };
+                    int vus = name.trim().equals("login") ? loginUsers : users;
+
+                    driver.run(vus, Duration.ofSeconds(warmup), step);
+                    driver.reset();
+                    Duration wall = driver.run(vus, Duration.ofSeconds(seconds), step);
+                    driver.report(name.trim() + " x" + vus, wall, System.out, out);
+                    driver.reset();
+                }
+            }
+        }
+        System.exit(0);   // do not wait on leftover non-daemon pool threads
+    }
+
+    private static String login(Driver d, String email) throws Exception {
+        HttpResponse<String> res = d.post("setup login", "/api/auth/login", null, loginBody(email));
+        if (res == null || res.statusCode() != 200) {
+            throw new IllegalStateException("Setup login failed for " + email + ": " + (res == null ? "I/O error" : res.statusCode()));
+        }
+        JsonNode body = JSON.readTree(res.body());
+        return body.get("accessToken").asText();
+    }
+
+    private static String loginBody(String email) throws Exception {
+        return JSON.writeValueAsString(Map.of("email", email, "password", Seeder.PASSWORD));
+    }
+
+    private static String feedbackBody(String email) throws Exception {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        return JSON.writeValueAsString(Map.of(
+                "first", "Load", "last", "Tester", "email", email,
+                "quality", 1 + r.nextInt(5), "support", 1 + r.nextInt(5),
+                "notes", "Submitted by the load test",
+                "useful", List.of("Search"), "missing", List.of("Payments")));
+    }
+}
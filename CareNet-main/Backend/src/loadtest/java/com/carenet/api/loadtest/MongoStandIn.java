@@ -0,0 +1,42 @@
+package com.carenet.api.loadtest;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+/**
+ * The Mongo the load test runs against: a local mongod started by flapdoodle
+ * (binary downloaded and cached on first use), or an existing server when
+ * -Dload.mongo-uri is given.
+ */
+final class MongoStandIn implements AutoCloseable {
+
+    private final String uri;
+    private final TransitionWalker.ReachedState<RunningMongodProcess> process;   // null when external
+
+    private MongoStandIn(String uri, TransitionWalker.ReachedState<RunningMongodProcess> process) {
+        this.uri = uri;
+        this.process = process;
+    }
+
+    static MongoStandIn start(String externalUri) {
+        if (externalUri != null && !externalUri.isBlank()) {
+            return new MongoStandIn(externalUri.replaceAll("/+$", ""), null);
+        }
+        var running = Mongod.instance().start(Version.Main.V7_0);
+        ServerAddress addr = running.current().getServerAddress();
+        return new MongoStandIn("mongodb://" + addr.getHost() + ":" + addr.getPort(), running);
+    }
+
+    /** Server URI without a database path. */
+    String uri() {
+        return uri;
+    }
+
+    @Override
+    public void close() {
+        if (process != null) process.close();
+    }
+}
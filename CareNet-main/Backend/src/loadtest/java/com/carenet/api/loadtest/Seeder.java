@@ -0,0 +1,158 @@
+package com.carenet.api.loadtest;
+
+import com.carenet.api.model.User;
+import com.carenet.api.model.common.Role;
+import com.carenet.api.model.feedback.Feedback;
+import com.carenet.api.model.profile.CareGiverProfile;
+import com.carenet.api.model.profile.CareSeekerProfile;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Synthetic users, profiles and feedback, written straight to Mongo before the app
+ * starts so its startup loaders (search index, matching, rollup) see the data.
+ * Every account shares one password; it is hashed once, not once per user.
+ */
+final class Seeder {
+
+    static final String PASSWORD = "loadtest-password";
+    static final String ADMIN_EMAIL = "admin@load.test";
+
+    private static final String[] SKILLS = {"Elder Care", "Child Care", "CPR", "First Aid", "Dementia Care",
+            "Medication", "Cooking", "Mobility Support", "Night Care", "Post-surgery"};
+    private static final String[] LANGS = {"English", "Sinhala", "Tamil"};
+    private static final String[] FEATURES = {"Scheduling", "Messaging", "Payments", "Reviews", "Reports", "Search"};
+    private static final int BATCH = 1000;
+
+    record Seeded(String adminEmail, List<String> seekerEmails, List<String> caregiverEmails, List<String> caregiverIds) {}
+
+    private final String uri;
+    private final String database;
+    private final Random rnd = new Random(7);
+
+    Seeder(String uri, String database) {
+        this.uri = uri;
+        this.database = database;
+    }
+
+    Seeded seed(int seekers, int caregivers, int feedback) {
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoTemplate mongo = new MongoTemplate(client, database);
+            mongo.getDb().drop();
+
+            String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+            List<User> users = new ArrayList<>();
+            users.add(user("Admin", ADMIN_EMAIL, hash, Role.ADMIN));
+            List<String> seekerEmails = new ArrayList<>();
+            List<String> caregiverEmails = new ArrayList<>();
+            for (int i = 0; i < seekers; i++) {
+                String email = "seeker" + i + "@load.test";
+                seekerEmails.add(email);
+                users.add(user("Seeker" + i, email, hash, Role.CARE_SEEKER));
+            }
+            for (int i = 0; i < caregivers; i++) {
+                String email = "caregiver" + i + "@load.test";
+                caregiverEmails.add(email);
+                users.add(user("Caregiver" + i, email, hash, Role.CAREGIVER));
+            }
+            List<User> savedUsers = insert(mongo, users);
+
+            List<CareGiverProfile> cps = new ArrayList<>();
+            List<CareSeekerProfile> sps = new ArrayList<>();
+            for (User u : savedUsers) {
+                if (u.getRoles().contains(Role.CAREGIVER)) cps.add(caregiverProfile(u));
+                if (u.getRoles().contains(Role.CARE_SEEKER)) sps.add(seekerProfile(u));
+            }
+            List<String> caregiverIds = insert(mongo, cps).stream().map(CareGiverProfile::getId).toList();
+            insert(mongo, sps);
+
+            List<Feedback> fs = new ArrayList<>(feedback);
+            Instant t = Instant.now().minusSeconds(feedback * 60L);
+            for (int i = 0; i < feedback; i++) fs.add(feedback(seekerEmails.get(i % Math.max(1, seekers)), t.plusSeconds(i * 60L)));
+            insert(mongo, fs);
+
+            return new Seeded(ADMIN_EMAIL, seekerEmails, caregiverEmails, caregiverIds);
+        }
+    }
+
+    private static <T> List<T> insert(MongoTemplate mongo, List<T> docs) {
+        List<T> out = new ArrayList<>(docs.size());
+        for (int i = 0; i < docs.size(); i += BATCH) {
+            out.addAll(mongo.insertAll(docs.subList(i, Math.min(docs.size(), i + BATCH))));
+        }
+        return out;
+    }
+
+    private User user(String first, String email, String hash, Role role) {
+        return User.builder()
+                .firstName(first)
+                .lastName("Load")
+                .email(email)
+                .searchKeys(User.searchKeys(first, "Load", email))
+                .passwordHash(hash)
+                .phone("07" + (10_000_000 + rnd.nextInt(89_999_999)))
+                .city(rnd.nextBoolean() ? "Colombo" : "Kandy")
+                .roles(Set.of(role))
+                .status(User.Status.ACTIVE)
+                .build();
+    }
+
+    private CareGiverProfile caregiverProfile(User u) {
+        CareGiverProfile p = new CareGiverProfile();
+        p.setEmail(u.getEmail());
+        p.setVersion(0L);
+        p.setUsername(u.getFirstName() + " " + u.getLastName());
+        p.setAvatarUrl("https://cdn.example.com/avatars/" + u.getId() + ".jpg");
+        p.setTagline("Reliable " + SKILLS[rnd.nextInt(SKILLS.length)].toLowerCase() + " at home");
+        p.setAbout("Experienced carer for elderly and post-surgery patients. ".repeat(1 + rnd.nextInt(8)));
+        List<CareGiverProfile.Lang> langs = new ArrayList<>();
+        for (String l : LANGS) {
+            if (rnd.nextInt(3) == 0 && !langs.isEmpty()) continue;
+            CareGiverProfile.Lang lang = new CareGiverProfile.Lang();
+            lang.setLang(l);
+            lang.setLevel("Fluent");
+            langs.add(lang);
+        }
+        p.setLanguages(langs);
+        p.setServiceRadius((5 + rnd.nextInt(30)) + " km within " + u.getCity());
+        p.setYears((1 + rnd.nextInt(20)) + " years");
+        p.setSkills(Set.of(SKILLS[rnd.nextInt(SKILLS.length)], SKILLS[rnd.nextInt(SKILLS.length)]));
+        return p;
+    }
+
+    private CareSeekerProfile seekerProfile(User u) {
+        CareSeekerProfile p = new CareSeekerProfile();
+        p.setUserId(u.getId());
+        p.setVersion(0L);
+        p.setEmail(u.getEmail());
+        p.setFirstName(u.getFirstName());
+        p.setLastName(u.getLastName());
+        p.setLocation(u.getCity());
+        p.setCareTypes(Set.of(SKILLS[rnd.nextInt(SKILLS.length)]));
+        p.setLanguages(Set.of(LANGS[rnd.nextInt(LANGS.length)]));
+        return p;
+    }
+
+    private Feedback feedback(String email, Instant at) {
+        Feedback f = new Feedback();
+        f.setFirst("Load");
+        f.setLast("Tester");
+        f.setEmail(email);
+        f.setRole(rnd.nextBoolean() ? "Manager" : "Owner / Founder");
+        f.setNotes(rnd.nextInt(4) == 0 ? null : "Works well; search on mobile could be faster.");
+        f.setQuality(1 + rnd.nextInt(5));
+        f.setSupport(1 + rnd.nextInt(5));
+        f.setUseful(List.of(FEATURES[rnd.nextInt(FEATURES.length)]));
+        f.setMissing(List.of(FEATURES[rnd.nextInt(FEATURES.length)]));
+        f.setCreatedAt(at);
+        return f;
+    }
+}
@@ -0,0 +1,145 @@
+package com.carenet.api.loadtest;
+
+import com.carenet.api.config.AppJwtProperties;
+import com.carenet.api.config.JwtService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load against a running instance, to compare the servlet and the reactive
+ * serving modes at the same heap size. scripts/bench-serving-modes.sh starts each mode
+ * with the same -Xmx and runs this against it, or by hand:
+ *   ./mvnw -Pload-test test-compile exec:java -Dload.main=com.carenet.api.loadtest.ServingModeBenchmark \
+ *       -Dbench.url=http://localhost:8080 -Dbench.concurrency=512 -Dbench.seconds=30 -Dapp.jwt.secret=...
+ *
+ * Mints an ADMIN token with the server's secret, hits the read endpoints round-robin,
+ * then reads heap / live threads from /actuator/metrics and prints one summary line.
+ */
+public class ServingModeBenchmark {
+
+    private static final List<String> PATHS = List.of(
+            "/api/caregiver/profile/public/page?size=20",
+            "/api/caregivers/profile/page?size=25",
+            "/api/careseekers/profile/page?size=25",
+            "/api/feedback/my-feedback?email=bench@carenet.local");
+
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+    public static void main(String[] args) throws Exception {
+        String base = System.getProperty("bench.url", "http://localhost:8080");
+        String label = System.getProperty("bench.label", base);
+        int concurrency = Integer.getInteger("bench.concurrency", 256);
+        int seconds = Integer.getInteger("bench.seconds", 30);
+        int warmup = Integer.getInteger("bench.warmup-seconds", 10);
+
+        AppJwtProperties props = new AppJwtProperties();
+        props.setSecret(System.getProperty("app.jwt.secret", "change-this-super-long-secret-please"));
+        props.setTtlSeconds(3600);
+        String token = new JwtService(props).create(Map.of(
+                "sub", "64f0c0ffee0000000000abcd",
+                "email", "bench@carenet.local",
+                "roles", List.of("ADMIN")));
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        run(http, base, token, concurrency, warmup);                       // JIT + pools
+        Result r = run(http, base, token, concurrency, seconds);
+
+        double heapMb = metric(http, base, token, "jvm.memory.used?tag=area:heap") / (1024 * 1024);
+        double heapMaxMb = metric(http, base, token, "jvm.memory.max?tag=area:heap") / (1024 * 1024);
+        double threads = metric(http, base, token, "jvm.threads.live");
+
+        System.out.printf("%-10s c=%d  %8.0f req/s  p50=%6.1f ms  p99=%7.1f ms  errors=%d  heap=%.0f/%.0f MB  threads=%.0f%n",
+                label, concurrency, r.count / (double) seconds,
+                r.percentile(0.50) / 1e6, r.percentile(0.99) / 1e6, r.errors,
+                heapMb, heapMaxMb, threads);
+    }
+
+    private static Result run(HttpClient http, String base, String token, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        LongAdder errors = new LongAdder();
+        AtomicLong next = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                workers.add(pool.submit(() -> {
+                    // per-request latency in ns, trimmed to the number of requests made
+                    long[] lat = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        String path = PATHS.get((int) (next.getAndIncrement() % PATHS.size()));
+                        HttpRequest req = HttpRequest.newBuilder(URI.create(base + path))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET().build();
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> res = http.send(req, HttpResponse.BodyHandlers.discarding());
+                            if (res.statusCode() >= 400) errors.increment();
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        if (n == lat.length) lat = Arrays.copyOf(lat, n * 2);
+                        lat[n++] = System.nanoTime() - t0;
+                    }
+                    return Arrays.copyOf(lat, n);
+                }));
+            }
+        }
+
+        List<long[]> parts = new ArrayList<>(concurrency);
+        int total = 0;
+        for (Future<long[]> f : workers) {
+            long[] part = f.get();
+            parts.add(part);
+            total += part.length;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, all, at, part.length);
+            at += part.length;
+        }
+        Arrays.sort(all);
+        return new Result(total, errors.sum(), all);
+    }
+
+    private static double metric(HttpClient http, String base, String token, String name) {
+        try {
+            HttpRequest req = HttpRequest.newBuilder(URI.create(base + "/actuator/metrics/" + name))
+                    .header("Authorization", "Bearer " + token).GET().build();
+            String body = http.send(req, HttpResponse.BodyHandlers.ofString()).body();
+            Matcher m = METRIC_VALUE.matcher(body);
+            return m.find() ? Double.parseDouble(m.group(1)) : Double.NaN;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    private record Result(long count, long errors, long[] sortedNanos) {
+        double percentile(double p) {
+            if (sortedNanos.length == 0) return Double.NaN;
+            return sortedNanos[Math.min(sortedNanos.length - 1, (int) (p * sortedNanos.length))];
+        }
+    }
+}
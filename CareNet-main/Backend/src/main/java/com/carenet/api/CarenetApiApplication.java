@@ -3,11 +3,16 @@ package com.carenet.api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.carenet.api.config.AppJwtProperties;
+import com.carenet.api.config.HashingProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(AppJwtProperties.class)
+@EnableScheduling
+@EnableAsync
+@EnableConfigurationProperties({AppJwtProperties.class, HashingProperties.class})
 public class CarenetApiApplication {
     public static void main(String[] args) {
         SpringApplication.run(CarenetApiApplication.class, args);
@@ -6,9 +6,16 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class AppJwtProperties {
     private String secret;
     private long ttlSeconds;
+    private long refreshTtlSeconds = 30L * 24 * 3600;
+    // verified-token cache size; 0 disables the cache
+    private int cacheMaxEntries = 10_000;
 
     public String getSecret() { return secret; }
     public void setSecret(String secret) { this.secret = secret; }
     public long getTtlSeconds() { return ttlSeconds; }
     public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+    public long getRefreshTtlSeconds() { return refreshTtlSeconds; }
+    public void setRefreshTtlSeconds(long refreshTtlSeconds) { this.refreshTtlSeconds = refreshTtlSeconds; }
+    public int getCacheMaxEntries() { return cacheMaxEntries; }
+    public void setCacheMaxEntries(int cacheMaxEntries) { this.cacheMaxEntries = cacheMaxEntries; }
 }
@@ -0,0 +1,81 @@
+package com.carenet.api.config;
+
+import com.carenet.api.model.User;
+import com.carenet.api.repository.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The authenticated caller for the current request.
+ * uid / email / roles come straight from the verified JWT claims (no Mongo);
+ * the User document is only loaded if a handler asks for it, and then only once.
+ * Inject it into controllers like any bean, it is proxied per request.
+ */
+@Component
+@RequestScope
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CurrentUser {
+
+    /** Request attribute the JwtAuthFilter stores the "email" claim under (next to "uid"). */
+    public static final String EMAIL_ATTRIBUTE = "email";
+
+    private final UserRepository users;
+    private final HttpServletRequest req;
+
+    private User user;
+    private boolean loaded;
+
+    public CurrentUser(UserRepository users, HttpServletRequest req) {
+        this.users = users;
+        this.req = req;
+    }
+
+    public boolean isAuthenticated() {
+        return uid() != null;
+    }
+
+    /** User id ("sub" claim), or null when unauthenticated. */
+    public String uid() {
+        return (String) req.getAttribute("uid");
+    }
+
+    /** Email from the token; tokens without the claim fall back to the User document. */
+    public String email() {
+        Object claim = req.getAttribute(EMAIL_ATTRIBUTE);
+        if (claim != null) return claim.toString();
+        return user().map(User::getEmail).orElse(null);
+    }
+
+    /** Role names without the ROLE_ prefix, e.g. CAREGIVER. */
+    public Set<String> roles() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) return Set.of();
+        return auth.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(a -> a.startsWith("ROLE_") ? a.substring(5) : a)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean hasRole(String role) {
+        return roles().contains(role);
+    }
+
+    /** The User document, fetched on first call and reused for the rest of the request. */
+    public Optional<User> user() {
+        if (!loaded) {
+            String uid = uid();
+            user = uid == null ? null : users.findById(uid).orElse(null);
+            loaded = true;
+        }
+        return Optional.ofNullable(user);
+    }
+}
@@ -0,0 +1,22 @@
+package com.carenet.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.hashing")
+public class HashingProperties {
+    // 0 -> one thread per available core
+    private int threads;
+    private int queueCapacity = 200;
+    private long retryAfterSeconds = 2;
+    // bulk import pool, shared by all imports; 0 -> half the cores (the rest stay with logins)
+    private int importThreads;
+
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    public void setRetryAfterSeconds(long retryAfterSeconds) { this.retryAfterSeconds = retryAfterSeconds; }
+    public int getImportThreads() { return importThreads; }
+    public void setImportThreads(int importThreads) { this.importThreads = importThreads; }
+}
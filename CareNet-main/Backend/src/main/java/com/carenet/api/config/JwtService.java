@@ -4,30 +4,56 @@ import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtService {
-    private final byte[] secret;
+    private static final JWSHeader HEADER = new JWSHeader(JWSAlgorithm.HS256);
+
+    private final JWSSigner signer;     // stateless, safe to share across threads
     private final long ttlSeconds;
+    private final Timer signTimer;
+
+    public JwtService(AppJwtProperties props) throws KeyLengthException {
+        this(props, Metrics.globalRegistry);
+    }
 
-    public JwtService(AppJwtProperties props) {
-        this.secret = props.getSecret().getBytes();
+    @Autowired
+    public JwtService(AppJwtProperties props, MeterRegistry meters) throws KeyLengthException {
+        this.signer = new MACSigner(props.getSecret().getBytes());
         this.ttlSeconds = props.getTtlSeconds();
+        this.signTimer = Timer.builder("carenet.jwt.sign")
+                .description("Access token signing (login / refresh)")
+                .publishPercentileHistogram()
+                .register(meters);
     }
 
     public String create(Map<String, Object> claims) throws JOSEException {
+        long start = System.nanoTime();
+        try {
+            return sign(claims);
+        } finally {
+            signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String sign(Map<String, Object> claims) throws JOSEException {
         Instant now = Instant.now();
         JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder()
                 .issueTime(Date.from(now))
                 .expirationTime(Date.from(now.plusSeconds(ttlSeconds)));
         claims.forEach(builder::claim);
-        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), builder.build());
-        jwt.sign(new MACSigner(secret));
+        SignedJWT jwt = new SignedJWT(HEADER, builder.build());
+        jwt.sign(signer);
         return jwt.serialize();
     }
 }
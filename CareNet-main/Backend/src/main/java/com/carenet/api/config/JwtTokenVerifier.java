@@ -0,0 +1,112 @@
+package com.carenet.api.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.crypto.MACVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.util.StringUtils;
+
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer token -> verified claims, shared by the servlet JwtAuthFilter and the
+ * reactive ReactiveJwtAuthFilter so both serving modes accept exactly the same tokens.
+ */
+public class JwtTokenVerifier {
+
+    // tokens without "exp" are only trusted from the cache for this long
+    private static final long NO_EXP_CACHE_MILLIS = 5 * 60 * 1000L;
+
+    private final MACVerifier verifier;
+    private final VerifiedTokenCache cache;         // null -> verify every request
+    private final RevocationRegistry revocations;   // null -> no deactivation check
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+
+    public JwtTokenVerifier(AppJwtProperties props, VerifiedTokenCache cache, RevocationRegistry revocations,
+                            MeterRegistry meters) {
+        try {
+            // verifier is immutable, build it once instead of per request
+            this.verifier = new MACVerifier(props.getSecret().getBytes());
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Invalid app.jwt.secret (HS256 needs 32+ bytes)", e);
+        }
+        this.cache = cache;
+        this.revocations = revocations;
+        this.cachedTimer = verifyTimer(meters, "cache");
+        this.verifiedTimer = verifyTimer(meters, "full");
+    }
+
+    /** Token part of an "Authorization: Bearer ..." header, or null. */
+    public static String bearer(String header) {
+        return StringUtils.hasText(header) && header.startsWith("Bearer ") ? header.substring(7) : null;
+    }
+
+    /** Claims of a valid, unexpired, unrevoked token; null otherwise. */
+    public VerifiedTokenCache.Entry authenticate(String token) {
+        long start = System.nanoTime();
+        VerifiedTokenCache.Entry e = cache == null ? null : cache.get(token);
+        if (e != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } else {
+            e = verify(token);
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        // deactivated users: in-memory check, no users.findById per request
+        if (e != null && revocations != null && revocations.isRevoked(e.uid(), e.issuedAtSeconds())) {
+            return null;
+        }
+        return e;
+    }
+
+    /** Full parse + HMAC check; returns null for invalid/expired tokens. */
+    private VerifiedTokenCache.Entry verify(String token) {
+        try {
+            JWSObject jws = JWSObject.parse(token);
+            if (!jws.verify(verifier)) return null;
+            Map<String, Object> claims = jws.getPayload().toJSONObject();
+
+            // subject -> user id
+            String uid = Objects.toString(claims.get("sub"), null);
+            if (uid == null) return null;
+            String email = Objects.toString(claims.get("email"), null);
+
+            long now = System.currentTimeMillis();
+            long expiresAt = now + NO_EXP_CACHE_MILLIS;
+            if (claims.get("exp") instanceof Number exp) {
+                expiresAt = exp.longValue() * 1000L;
+                if (expiresAt <= now) return null;
+            }
+
+            long issuedAt = claims.get("iat") instanceof Number iat ? iat.longValue() : 0L;
+
+            // roles (optional) -> authorities
+            List<String> roles = claims.get("roles") instanceof Collection<?> c
+                    ? c.stream().map(Object::toString).toList()
+                    : List.of();
+
+            return cache != null
+                    ? cache.put(token, uid, email, roles, issuedAt, expiresAt)
+                    : new VerifiedTokenCache.Entry(uid, email, VerifiedTokenCache.toAuthorities(roles), issuedAt, expiresAt);
+        } catch (ParseException | JOSEException ignore) {
+            // Invalid token -> leave context unauthenticated; downstream will 401/403
+            return null;
+        }
+    }
+
+    // source=cache: digest + map lookup; source=full: parse + HMAC + claims (cache miss or no cache)
+    private static Timer verifyTimer(MeterRegistry meters, String source) {
+        return Timer.builder("carenet.jwt.verify")
+                .description("Bearer token verification in the auth filter")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+}
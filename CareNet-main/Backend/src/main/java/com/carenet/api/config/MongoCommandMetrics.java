@@ -0,0 +1,90 @@
+package com.carenet.api.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Documents returned / written per Mongo command, tagged by command and collection
+ * ("carenet.mongo.documents"). Latency per command + collection is already recorded by
+ * Boot's MongoMetricsCommandListener as "mongodb.driver.commands"; this adds the
+ * "how much did it touch" half so a slow find can be told apart from a big one.
+ */
+public class MongoCommandMetrics implements CommandListener {
+
+    private final MeterRegistry meters;
+    // requestId -> collection; the reply does not name the collection
+    private final Map<Integer, String> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry meters) {
+        this.meters = meters;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String collection = collection(event.getCommandName(), event.getCommand());
+        if (collection != null) inFlight.put(event.getRequestId(), collection);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = inFlight.remove(event.getRequestId());
+        long docs = documents(event.getCommandName(), event.getResponse());
+        if (collection == null || docs < 0) return;
+        String command = event.getCommandName();
+        summaries.computeIfAbsent(command + '/' + collection, k -> DistributionSummary.builder("carenet.mongo.documents")
+                        .description("Documents returned or written by a Mongo command")
+                        .baseUnit("documents")
+                        .tag("command", command)
+                        .tag("collection", collection)
+                        .register(meters))
+                .record(docs);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    private static String collection(String command, BsonDocument body) {
+        BsonValue v = "getMore".equals(command) ? body.get("collection") : body.get(command);
+        return v != null && v.isString() ? v.asString().getValue() : null;
+    }
+
+    /** Batch size for reads, n for writes/counts; -1 for commands without a document count. */
+    private static long documents(String command, BsonDocument reply) {
+        switch (command) {
+            case "find", "aggregate", "getMore" -> {
+                BsonDocument cursor = reply.getDocument("cursor", null);
+                if (cursor == null) return -1;
+                BsonArray batch = cursor.getArray("getMore".equals(command) ? "nextBatch" : "firstBatch", null);
+                return batch == null ? -1 : batch.size();
+            }
+            case "insert", "update", "delete", "count" -> {
+                BsonValue n = reply.get("n");
+                return n != null && n.isNumber() ? n.asNumber().longValue() : -1;
+            }
+            case "findAndModify" -> {
+                BsonValue value = reply.get("value");
+                return value != null && value.isDocument() ? 1 : 0;
+            }
+            case "distinct" -> {
+                BsonArray values = reply.getArray("values", null);
+                return values == null ? -1 : values.size();
+            }
+            default -> {
+                return -1;
+            }
+        }
+    }
+}
@@ -1,8 +1,31 @@
 package com.carenet.api.config;
 
+import com.carenet.api.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
 
 @Configuration
 @EnableMongoAuditing
-public class MongoConfig {}
+public class MongoConfig {
+
+    // Applied to both the blocking and the reactive client
+    @Bean
+    MongoClientSettingsBuilderCustomizer mongoCommandListeners(MeterRegistry meters, SlowQueryLog slowQueries) {
+        return settings -> settings
+                .addCommandListener(new MongoCommandMetrics(meters))
+                .addCommandListener(slowQueries);
+    }
+
+    // keeps users.searchKeys in step with the names on every save / insert / bulk insert
+    @Bean
+    BeforeConvertCallback<User> userSearchKeys() {
+        return (user, collection) -> {
+            user.setSearchKeys(User.searchKeys(user.getFirstName(), user.getLastName(), user.getEmail()));
+            return user;
+        };
+    }
+}
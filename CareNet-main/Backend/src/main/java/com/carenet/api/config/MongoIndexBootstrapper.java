@@ -0,0 +1,265 @@
+package com.carenet.api.config;
+
+import com.mongodb.MongoException;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boot 3 leaves spring.data.mongodb.auto-index-creation off, so @Indexed / @CompoundIndex
+ * on the @Document classes are only metadata. After startup this resolves every declared
+ * index, checks it against listIndexes (by key pattern, so an equivalent index under a
+ * different name counts) and builds the missing ones one by one on a background thread,
+ * unique indexes first. Readiness is not held back by the builds.
+ *
+ * - /actuator/indexes (ADMIN): per-index state, plus currentOp progress while building;
+ *   POST re-verifies and retries failed builds (e.g. after removing duplicate emails)
+ * - health "mongoIndexes": DOWN while a unique index is absent and not being built
+ *   (build failed, or an existing index on the same keys is not unique)
+ */
+@Component("mongoIndexes")
+@Endpoint(id = "indexes")
+public class MongoIndexBootstrapper implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexBootstrapper.class);
+
+    public enum State { PENDING, PRESENT, BUILDING, FAILED, CONFLICT }
+
+    private final MongoTemplate mongo;
+    private final MongoMappingContext mapping;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "mongo-index-build");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile List<IndexStatus> indexes = List.of();   // replaced wholesale on each verify
+    private volatile Instant verifiedAt;
+    private volatile Instant finishedAt;
+
+    public MongoIndexBootstrapper(MongoTemplate mongo, MongoMappingContext mapping) {
+        this.mongo = mongo;
+        this.mapping = mapping;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        builder.execute(this::verifyAndBuild);
+    }
+
+    @PreDestroy
+    void shutdown() { builder.shutdownNow(); }
+
+    /* ========= actuator ========= */
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        List<IndexStatus> current = indexes;
+        Map<String, String> progress = buildProgress(current);
+        List<Map<String, Object>> rows = new ArrayList<>(current.size());
+        for (IndexStatus s : current) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("collection", s.collection);
+            row.put("name", s.name);
+            row.put("keys", s.keys);
+            row.put("unique", s.unique);
+            row.put("state", s.state);
+            if (s.state == State.BUILDING && progress.containsKey(s.collection)) row.put("progress", progress.get(s.collection));
+            if (s.startedAt != null) row.put("startedAt", s.startedAt);
+            if (s.builtAt != null) row.put("builtAt", s.builtAt);
+            if (s.error != null) row.put("error", s.error);
+            rows.add(row);
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("verifiedAt", verifiedAt);
+        out.put("finishedAt", finishedAt);
+        out.put("indexes", rows);
+        return out;
+    }
+
+    /** Re-read existing indexes and build whatever is still missing. */
+    @WriteOperation
+    public void retry() {
+        builder.execute(this::verifyAndBuild);
+    }
+
+    @Override
+    public Health health() {
+        if (verifiedAt == null) return Health.unknown().withDetail("indexes", "not verified yet").build();
+        List<String> absent = new ArrayList<>();
+        List<String> building = new ArrayList<>();
+        for (IndexStatus s : indexes) {
+            if (!s.unique) continue;
+            if (s.state == State.FAILED || s.state == State.CONFLICT) absent.add(s.collection + "." + s.name + " (" + s.state + ")");
+            else if (s.state != State.PRESENT) building.add(s.collection + "." + s.name);
+        }
+        Health.Builder h = absent.isEmpty() ? Health.up() : Health.down().withDetail("absentUnique", absent);
+        if (!building.isEmpty()) h.withDetail("building", building);
+        return h.build();
+    }
+
+    /* ========= verify + build (builder thread) ========= */
+
+    private void verifyAndBuild() {
+        try {
+            List<IndexStatus> planned = resolve();
+            verify(planned);
+            indexes = planned;
+            verifiedAt = Instant.now();
+            finishedAt = null;
+
+            List<IndexStatus> todo = planned.stream()
+                    .filter(s -> s.state == State.PENDING || s.state == State.FAILED)
+                    .sorted(Comparator.comparing((IndexStatus s) -> !s.unique))
+                    .toList();
+            if (!todo.isEmpty()) log.info("Building {} missing Mongo indexes", todo.size());
+            for (IndexStatus s : todo) build(s);
+            finishedAt = Instant.now();
+        } catch (RuntimeException ex) {
+            log.warn("Mongo index verification failed", ex);
+        }
+    }
+
+    private List<IndexStatus> resolve() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mapping);
+        Map<String, IndexStatus> out = new LinkedHashMap<>();
+        for (MongoPersistentEntity<?> e : mapping.getPersistentEntities()) {
+            if (!e.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) continue;
+            for (IndexDefinition def : resolver.resolveIndexFor(e.getType())) {
+                // read models subclassing an entity (e.g. FeedbackSearchHit) repeat its indexes
+                IndexStatus s = new IndexStatus(e.getCollection(), def);
+                out.putIfAbsent(s.collection + s.keys, s);
+            }
+        }
+        return new ArrayList<>(out.values());
+    }
+
+    private void verify(List<IndexStatus> planned) {
+        Map<String, Map<String, Document>> byCollection = new HashMap<>();
+        Set<String> collections = mongo.getCollectionNames();
+        for (IndexStatus s : planned) {
+            Map<String, Document> existing = byCollection.computeIfAbsent(s.collection, c -> {
+                Map<String, Document> m = new HashMap<>();
+                if (collections.contains(c)) {
+                    for (Document idx : mongo.getCollection(c).listIndexes()) m.put(signature(declaredKeys(idx)), idx);
+                }
+                return m;
+            });
+            Document idx = existing.get(s.keys);
+            if (idx == null) {
+                s.state = State.PENDING;
+            } else if (s.unique && !Boolean.TRUE.equals(idx.getBoolean("unique"))) {
+                s.state = State.CONFLICT;
+                s.error = "existing index " + idx.getString("name") + " on the same keys is not unique";
+            } else {
+                s.state = State.PRESENT;
+            }
+        }
+    }
+
+    private void build(IndexStatus s) {
+        s.state = State.BUILDING;
+        s.startedAt = Instant.now();
+        s.error = null;
+        try {
+            mongo.indexOps(s.collection).createIndex(s.definition);
+            s.state = State.PRESENT;
+            s.builtAt = Instant.now();
+            log.info("Built index {}.{} {} in {} ms", s.collection, s.name, s.keys,
+                    s.builtAt.toEpochMilli() - s.startedAt.toEpochMilli());
+        } catch (DataAccessException | MongoException ex) {
+            // typically duplicates blocking a unique index
+            s.state = State.FAILED;
+            s.error = ex.getMessage();
+            log.error("Could not build index {}.{} {}: {}", s.collection, s.name, s.keys, ex.getMessage());
+        }
+    }
+
+    // collection -> "done/total (msg)" of a running createIndexes; best effort (needs the inprog privilege)
+    private Map<String, String> buildProgress(List<IndexStatus> current) {
+        if (current.stream().noneMatch(s -> s.state == State.BUILDING)) return Map.of();
+        Map<String, String> out = new HashMap<>();
+        try {
+            Document ops = mongo.getMongoDatabaseFactory().getMongoDatabase("admin")
+                    .runCommand(new Document("currentOp", true).append("command.createIndexes", new Document("$exists", true)));
+            for (Document op : ops.getList("inprog", Document.class, List.of())) {
+                Document cmd = op.get("command", Document.class);
+                Document p = op.get("progress", Document.class);
+                if (cmd == null || p == null) continue;
+                out.put(cmd.getString("createIndexes"),
+                        p.get("done") + "/" + p.get("total") + (op.containsKey("msg") ? " (" + op.getString("msg") + ")" : ""));
+            }
+        } catch (RuntimeException ex) {
+            log.debug("currentOp not available: {}", ex.getMessage());
+        }
+        return out;
+    }
+
+    // text indexes are listed as {_fts: "text", _ftsx: 1} + weights; declared as {field: "text"}
+    private static Document declaredKeys(Document idx) {
+        Document key = idx.get("key", Document.class);
+        Document weights = idx.get("weights", Document.class);
+        if (weights == null) return key;
+        Document out = new Document();
+        key.forEach((k, v) -> {
+            if (k.equals("_fts")) weights.keySet().forEach(field -> out.put(field, "text"));
+            else if (!k.equals("_ftsx")) out.put(k, v);
+        });
+        return out;
+    }
+
+    // ordered key pattern, numbers normalized (listIndexes may return 1.0 / 1L)
+    private static String signature(Document keys) {
+        StringJoiner j = new StringJoiner(",", "{", "}");
+        keys.forEach((k, v) -> j.add(k + ":" + (v instanceof Number n ? String.valueOf(n.intValue()) : String.valueOf(v))));
+        return j.toString();
+    }
+
+    private static final class IndexStatus {
+        final String collection;
+        final String name;
+        final String keys;
+        final boolean unique;
+        final IndexDefinition definition;
+        volatile State state = State.PENDING;
+        volatile Instant startedAt;
+        volatile Instant builtAt;
+        volatile String error;
+
+        IndexStatus(String collection, IndexDefinition definition) {
+            Document options = definition.getIndexOptions();
+            this.collection = collection;
+            this.definition = definition;
+            this.keys = signature(definition.getIndexKeys());
+            this.unique = Boolean.TRUE.equals(options.get("unique"));
+            this.name = options.getString("name") != null ? options.getString("name") : keys;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.carenet.api.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of JwtAuthFilter: same token rules, the Authentication goes into
+ * the Reactor context instead of a thread-local. Verification is CPU only (HMAC, or a
+ * cache hit) so it runs inline on the event loop.
+ */
+public class ReactiveJwtAuthFilter implements WebFilter {
+
+    private final JwtTokenVerifier tokens;
+
+    public ReactiveJwtAuthFilter(JwtTokenVerifier tokens) {
+        this.tokens = tokens;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String token = JwtTokenVerifier.bearer(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        VerifiedTokenCache.Entry e = token == null ? null : tokens.authenticate(token);
+        if (e == null) return chain.filter(exchange);
+
+        exchange.getAttributes().put("uid", e.uid());
+        if (e.email() != null) exchange.getAttributes().put(CurrentUser.EMAIL_ATTRIBUTE, e.email());
+
+        var authentication = new UsernamePasswordAuthenticationToken(e.uid(), null, e.authorities());
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
@@ -0,0 +1,169 @@
+package com.carenet.api.config;
+
+import com.carenet.api.model.User;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory view of deactivated accounts so JwtAuthFilter can reject their
+ * tokens with an O(1) lookup instead of a users.findById per request.
+ *
+ * - deactivated: uids whose tokens are refused outright
+ * - notBefore:   per-uid cutoff; tokens issued (iat) before it are refused,
+ *                so a deactivate/reactivate cycle still kills old tokens
+ *
+ * Loaded after startup on a background thread (retried until Mongo answers), updated
+ * by the admin status endpoints, and (optionally) re-synced from users.statusChangedAt
+ * so several nodes converge. Until the first load has finished every token counts as
+ * revoked: a node that cannot see the deactivation list fails closed.
+ */
+@Component
+public class RevocationRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationRegistry.class);
+    private static final long MAX_RETRY_MILLIS = 30_000;
+
+    private final MongoTemplate mongo;
+    private final long accessTtlSeconds;
+    private final boolean syncEnabled;
+
+    private final Set<String> deactivated = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();   // uid -> epoch seconds
+    private volatile Instant lastSync = Instant.EPOCH;
+    private volatile boolean loaded;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "revocation-load");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public RevocationRegistry(MongoTemplate mongo, AppJwtProperties jwt,
+                              @Value("${app.revocation.sync-enabled:false}") boolean syncEnabled) {
+        this.mongo = mongo;
+        this.accessTtlSeconds = jwt.getTtlSeconds();
+        this.syncEnabled = syncEnabled;
+    }
+
+    /** True if a token for this uid issued at {@code issuedAtSeconds} must be refused. */
+    public boolean isRevoked(String uid, long issuedAtSeconds) {
+        if (!loaded || deactivated.contains(uid)) return true;
+        Long nb = notBefore.get(uid);
+        return nb != null && issuedAtSeconds < nb;
+    }
+
+    public boolean isDeactivated(String uid) {
+        return !loaded || deactivated.contains(uid);
+    }
+
+    /** False until the initial load from Mongo has completed. */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** Called right after an admin changed a user's status. */
+    public void onStatusChange(String uid, User.Status status, Instant changedAt) {
+        apply(uid, status, changedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        // not on the main thread: an unreachable Mongo must not keep the app from starting
+        loader.execute(this::loadWithRetry);
+    }
+
+    @PreDestroy
+    void shutdown() { loader.shutdownNow(); }
+
+    private void loadWithRetry() {
+        long backoff = 1000;
+        while (!loaded) {
+            try {
+                load();
+            } catch (RuntimeException ex) {
+                log.warn("Revocation registry not loaded, retrying in {} ms: {}", backoff, ex.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    return;   // shutting down
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_MILLIS);
+            }
+        }
+    }
+
+    void load() {
+        // tokens older than the access TTL are expired anyway; only recent changes matter for notBefore
+        Instant cutoff = Instant.now().minusSeconds(accessTtlSeconds);
+        Query q = Query.query(new Criteria().orOperator(
+                Criteria.where("status").is(User.Status.DEACTIVATED.name()),
+                Criteria.where("statusChangedAt").gt(Date.from(cutoff))));
+        Instant started = Instant.now();
+        int n = read(q);
+        lastSync = started;
+        loaded = true;
+        log.info("Revocation registry loaded: {} users ({} deactivated)", n, deactivated.size());
+    }
+
+    // Optional multi-node sync: pick up status changes made through other instances
+    @Scheduled(fixedDelayString = "${app.revocation.sync-millis:30000}")
+    void syncDelta() {
+        if (!syncEnabled || !loaded) return;
+        Instant started = Instant.now();
+        // small overlap so changes committed while the previous sync ran are not missed
+        read(Query.query(Criteria.where("statusChangedAt").gt(Date.from(lastSync.minusSeconds(5)))));
+        lastSync = started;
+        pruneNotBefore();
+    }
+
+    /* ========= helpers ========= */
+
+    private int read(Query q) {
+        q.fields().include("_id").include("status").include("statusChangedAt");
+        int[] n = {0};
+        mongo.getCollection(mongo.getCollectionName(User.class))
+                .find(q.getQueryObject())
+                .projection(q.getFieldsObject())
+                .forEach(d -> {
+                    n[0]++;
+                    Date changed = d.getDate("statusChangedAt");
+                    apply(d.get("_id").toString(), status(d),
+                            changed == null ? null : changed.toInstant());
+                });
+        return n[0];
+    }
+
+    private void apply(String uid, User.Status status, Instant changedAt) {
+        if (status == User.Status.DEACTIVATED) deactivated.add(uid);
+        else deactivated.remove(uid);
+        if (changedAt != null) notBefore.merge(uid, changedAt.getEpochSecond(), Math::max);
+    }
+
+    // a cutoff older than the access TTL can no longer reject anything
+    private void pruneNotBefore() {
+        long expired = Instant.now().minusSeconds(accessTtlSeconds).getEpochSecond();
+        notBefore.values().removeIf(nb -> nb < expired);
+    }
+
+    private static User.Status status(Document d) {
+        String s = d.getString("status");
+        return s == null ? User.Status.ACTIVE : User.Status.valueOf(s);
+    }
+}
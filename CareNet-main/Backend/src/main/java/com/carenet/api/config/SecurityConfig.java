@@ -1,18 +1,26 @@
 package com.carenet.api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
@@ -21,13 +29,53 @@ import java.util.List;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    // Shared by the filter; also bound to Micrometer (hits/misses/evictions)
+    @Bean
+    VerifiedTokenCache verifiedTokenCache(AppJwtProperties props) {
+        return new VerifiedTokenCache(props.getCacheMaxEntries());
+    }
+
+    // Same verification for the servlet filter and the reactive one (ReactiveSecurityConfig)
+    @Bean
+    JwtTokenVerifier jwtTokenVerifier(AppJwtProperties props, VerifiedTokenCache cache, RevocationRegistry revocations,
+                                      MeterRegistry meters) {
+        return new JwtTokenVerifier(props, props.getCacheMaxEntries() > 0 ? cache : null, revocations, meters);
+    }
+
     // Let Spring build the filter with the properties injected
     @Bean
-    JwtAuthFilter jwtAuthFilter(AppJwtProperties props) {
-        return new JwtAuthFilter(props);
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    JwtAuthFilter jwtAuthFilter(JwtTokenVerifier tokens) {
+        return new JwtAuthFilter(tokens);
+    }
+
+    // Prometheus scrape (management port): HTTP Basic for the scraper, or an ADMIN bearer token.
+    // No scrape password configured -> ADMIN token only.
+    @Bean
+    @Order(1)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    SecurityFilterChain prometheusFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter, PasswordEncoder encoder,
+                                              @Value("${app.metrics.scrape-username:prometheus}") String username,
+                                              @Value("${app.metrics.scrape-password:}") String password) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.to("prometheus"))
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasAnyRole("METRICS", "ADMIN"))
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+
+        if (StringUtils.hasText(password)) {
+            http.httpBasic(Customizer.withDefaults())
+                .userDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                        .password(encoder.encode(password))
+                        .roles("METRICS")
+                        .build()));
+        }
+        return http.build();
     }
 
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
@@ -37,8 +85,10 @@ public class SecurityConfig {
                 // allow preflight from browsers
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
-                .requestMatchers(HttpMethod.POST, "/api/auth/register", "/api/auth/login").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/auth/register", "/api/auth/login",
+                        "/api/auth/refresh", "/api/auth/logout").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
@@ -52,7 +102,14 @@ public class SecurityConfig {
     }
 
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public CorsConfigurationSource corsConfigurationSource() {
+        var source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+
+    static CorsConfiguration corsConfiguration() {
         var cfg = new CorsConfiguration();
         // FRONTEND ORIGINS
         cfg.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:5173"));
@@ -61,9 +118,6 @@ public class SecurityConfig {
         cfg.setExposedHeaders(List.of("Authorization"));
         // optional if you’ll send cookies later:
         // cfg.setAllowCredentials(true);
-
-        var source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", cfg);
-        return source;
+        return cfg;
     }
 }
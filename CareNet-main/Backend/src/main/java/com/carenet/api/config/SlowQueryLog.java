@@ -0,0 +1,277 @@
+package com.carenet.api.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo commands slower than app.mongo.slow-query.threshold-millis: logged with their
+ * query shape (literal values replaced by "?"), kept in a ring buffer served at
+ * /actuator/slowqueries (ADMIN), and for a sample of them the command is re-run as
+ * {@code explain} (executionStats) on a single background thread to flag collection
+ * scans and filters that examine far more documents than they return.
+ *
+ * Registered on both Mongo clients through MongoConfig.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryLog implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final Set<String> EXPLAINABLE =
+            Set.of("find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+    // added by the driver; explain rejects or does not need them
+    private static final Set<String> DRIVER_FIELDS = Set.of("$db", "lsid", "$clusterTime", "txnNumber",
+            "$readPreference", "readConcern", "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    private final ObjectProvider<MongoClient> client;
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final double explainSampleRate;
+    private final double examinedRatio;
+    private final int capacity;
+
+    // the started event's document is only valid during the callback -> copy of each
+    // explainable command until its reply arrives
+    private final Map<Integer, BsonDocument> inFlight = new ConcurrentHashMap<>();
+    private final ArrayDeque<SlowQuery> recent = new ArrayDeque<>();   // guarded by itself
+    private final ThreadPoolExecutor explainer;
+
+    public SlowQueryLog(ObjectProvider<MongoClient> client,
+                        @Value("${app.mongo.slow-query.enabled:true}") boolean enabled,
+                        @Value("${app.mongo.slow-query.threshold-millis:100}") long thresholdMillis,
+                        @Value("${app.mongo.slow-query.explain-sample-rate:0.2}") double explainSampleRate,
+                        @Value("${app.mongo.slow-query.examined-ratio:100}") double examinedRatio,
+                        @Value("${app.mongo.slow-query.capacity:200}") int capacity) {
+        this.client = client;
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.explainSampleRate = explainSampleRate;
+        this.examinedRatio = examinedRatio;
+        this.capacity = Math.max(1, capacity);
+        // one explain at a time, a few queued; anything beyond that is simply not explained
+        this.explainer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+                r -> {
+                    Thread t = new Thread(r, "mongo-explain");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /* ========= listener ========= */
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (enabled && EXPLAINABLE.contains(event.getCommandName())) {
+            inFlight.put(event.getRequestId(), event.getCommand().clone());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        BsonDocument command = inFlight.remove(event.getRequestId());
+        if (command == null || event.getElapsedTime(TimeUnit.NANOSECONDS) < thresholdNanos) return;
+
+        SlowQuery q = new SlowQuery(Instant.now(), event.getDatabaseName(), collection(event.getCommandName(), command),
+                event.getCommandName(), event.getElapsedTime(TimeUnit.MILLISECONDS), shape(strip(command)).toJson());
+        remember(q);
+        log.warn("Slow Mongo {} on {}.{}: {} ms {}", q.command, q.database, q.collection, q.millis, q.shape);
+
+        if (ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            try {
+                explainer.execute(() -> explain(q, strip(command)));
+            } catch (RejectedExecutionException busy) {
+                // explainer backed up; the entry stays without a plan
+            }
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    /* ========= actuator ========= */
+
+    /** Most recent slow commands, newest first. */
+    @ReadOperation
+    public List<SlowQuery> recent() {
+        synchronized (recent) {
+            List<SlowQuery> out = new ArrayList<>(recent.size());
+            for (Iterator<SlowQuery> it = recent.descendingIterator(); it.hasNext(); ) out.add(it.next());
+            return out;
+        }
+    }
+
+    @DeleteOperation
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() { explainer.shutdownNow(); }
+
+    /* ========= internals ========= */
+
+    private void remember(SlowQuery q) {
+        synchronized (recent) {
+            if (recent.size() == capacity) recent.removeFirst();
+            recent.addLast(q);
+        }
+    }
+
+    private void explain(SlowQuery q, BsonDocument command) {
+        MongoClient mongo = client.getIfAvailable();
+        if (mongo == null) return;
+        try {
+            BsonDocument explain = new BsonDocument("explain", command)
+                    .append("verbosity", new BsonString("executionStats"));
+            BsonDocument plan = mongo.getDatabase(q.database).runCommand(explain, BsonDocument.class);
+
+            boolean collscan = hasStage(plan, "COLLSCAN");
+            long examined = firstLong(plan, "totalDocsExamined");
+            long returned = firstLong(plan, "nReturned");
+            List<String> flags = new ArrayList<>();
+            if (collscan) flags.add("COLLSCAN");
+            if (examined >= 0 && examined > examinedRatio * Math.max(1, returned)) flags.add("HIGH_EXAMINED_RATIO");
+            q.plan = new Plan(collscan, examined, returned, flags);
+
+            if (!flags.isEmpty()) {
+                log.warn("Slow Mongo {} on {}.{} {}: examined {} returned {} {}",
+                        q.command, q.database, q.collection, flags, examined, returned, q.shape);
+            }
+        } catch (RuntimeException ex) {
+            log.debug("explain failed for {} on {}.{}", q.command, q.database, q.collection, ex);
+        }
+    }
+
+    private static BsonDocument strip(BsonDocument command) {
+        BsonDocument out = new BsonDocument();
+        command.forEach((k, v) -> { if (!DRIVER_FIELDS.contains(k)) out.append(k, v); });
+        return out;
+    }
+
+    private static String collection(String command, BsonDocument body) {
+        BsonValue v = body.get(command);
+        return v != null && v.isString() ? v.asString().getValue() : "?";
+    }
+
+    // literals -> "?" so the log shows the query shape without user data (emails etc.)
+    private static BsonValue shape(BsonValue v) {
+        if (v.isDocument()) {
+            BsonDocument out = new BsonDocument();
+            v.asDocument().forEach((k, child) -> out.append(k, shape(child)));
+            return out;
+        }
+        if (v.isArray()) {
+            BsonArray out = new BsonArray();
+            for (BsonValue child : v.asArray()) out.add(shape(child));
+            return out;
+        }
+        return new BsonString("?");
+    }
+
+    private static BsonDocument shape(BsonDocument command) {
+        BsonDocument out = new BsonDocument();
+        command.forEach((k, v) -> out.append(k, v.isDocument() || v.isArray() ? shape(v) : v));
+        return out;
+    }
+
+    private static boolean hasStage(BsonValue v, String stage) {
+        if (v.isDocument()) {
+            for (Map.Entry<String, BsonValue> e : v.asDocument().entrySet()) {
+                if (e.getKey().equals("stage") && e.getValue().isString() && stage.equals(e.getValue().asString().getValue())) {
+                    return true;
+                }
+                if (hasStage(e.getValue(), stage)) return true;
+            }
+        } else if (v.isArray()) {
+            for (BsonValue child : v.asArray()) if (hasStage(child, stage)) return true;
+        }
+        return false;
+    }
+
+    // executionStats sits at the top for find, under stages[0].$cursor for aggregate
+    private static long firstLong(BsonValue v, String key) {
+        if (v.isDocument()) {
+            BsonDocument d = v.asDocument();
+            BsonValue hit = d.get(key);
+            if (hit != null && hit.isNumber()) return hit.asNumber().longValue();
+            for (BsonValue child : d.values()) {
+                long n = firstLong(child, key);
+                if (n >= 0) return n;
+            }
+        } else if (v.isArray()) {
+            for (BsonValue child : v.asArray()) {
+                long n = firstLong(child, key);
+                if (n >= 0) return n;
+            }
+        }
+        return -1;
+    }
+
+    /* ========= entries ========= */
+
+    public static final class SlowQuery {
+        private final Instant at;
+        private final String database;
+        private final String collection;
+        private final String command;
+        private final long millis;
+        private final String shape;
+        private volatile Plan plan;   // null until (and unless) the sampled explain ran
+
+        SlowQuery(Instant at, String database, String collection, String command, long millis, String shape) {
+            this.at = at;
+            this.database = database;
+            this.collection = collection;
+            this.command = command;
+            this.millis = millis;
+            this.shape = shape;
+        }
+
+        public Instant getAt() { return at; }
+        public String getDatabase() { return database; }
+        public String getCollection() { return collection; }
+        public String getCommand() { return command; }
+        public long getMillis() { return millis; }
+        public String getShape() { return shape; }
+        public Plan getPlan() { return plan; }
+    }
+
+    /** Explain summary; docsExamined/nReturned are -1 when the plan did not report them. */
+    public record Plan(boolean collscan, long docsExamined, long nReturned, List<String> flags) {}
+}
@@ -0,0 +1,125 @@
+package com.carenet.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already verified bearer tokens.
+ * Keyed by a SHA-256 digest of the raw token, so a repeat request with the same
+ * token skips parse + HMAC + JSON. Entries die at the token's own "exp".
+ */
+public class VerifiedTokenCache implements MeterBinder {
+
+    /** What the filter needs to rebuild the Authentication. */
+    public record Entry(String uid, String email, List<GrantedAuthority> authorities, long issuedAtSeconds, long expiresAtMillis) {
+        boolean isExpired(long now) { return now >= expiresAtMillis; }
+    }
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // one shared immutable authority list per distinct role set
+    private final ConcurrentHashMap<Set<String>, List<GrantedAuthority>> authoritySets = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /** Cached entry for this token, or null (miss / expired). */
+    public Entry get(String token) {
+        String key = digest(token);
+        Entry e = entries.get(key);
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        if (e.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, e)) evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e;
+    }
+
+    /** Remember a token that has just been verified. */
+    public Entry put(String token, String uid, String email, Collection<String> roles, long issuedAtSeconds, long expiresAtMillis) {
+        Entry e = new Entry(uid, email, authoritiesFor(roles), issuedAtSeconds, expiresAtMillis);
+        if (entries.size() >= maxEntries) makeRoom();
+        entries.put(digest(token), e);
+        return e;
+    }
+
+    /** Shared, immutable ROLE_* authority list for a set of raw role names. */
+    public List<GrantedAuthority> authoritiesFor(Collection<String> roles) {
+        return authoritySets.computeIfAbsent(Set.copyOf(roles), VerifiedTokenCache::toAuthorities);
+    }
+
+    /** Uncached role -> authority mapping (ROLE_ prefix added when missing). */
+    public static List<GrantedAuthority> toAuthorities(Collection<String> roles) {
+        return roles.stream()
+                .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
+                .distinct()
+                .sorted()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    public void clear() { entries.clear(); }
+
+    public int size() { return entries.size(); }
+    public long hits() { return hits.sum(); }
+    public long misses() { return misses.sum(); }
+    public long evictions() { return evictions.sum(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("carenet.jwt.cache.hits", this, VerifiedTokenCache::hits).register(registry);
+        FunctionCounter.builder("carenet.jwt.cache.misses", this, VerifiedTokenCache::misses).register(registry);
+        FunctionCounter.builder("carenet.jwt.cache.evictions", this, VerifiedTokenCache::evictions).register(registry);
+        Gauge.builder("carenet.jwt.cache.size", this, VerifiedTokenCache::size).register(registry);
+    }
+
+    /* ========= helpers ========= */
+
+    // Drop expired entries first; if still full, drop arbitrary ones down to ~90% capacity.
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(en -> {
+            boolean expired = en.getValue().isExpired(now);
+            if (expired) evictions.increment();
+            return expired;
+        });
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(d);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
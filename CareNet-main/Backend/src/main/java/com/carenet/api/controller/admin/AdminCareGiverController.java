@@ -1,17 +1,25 @@
 package com.carenet.api.controller.admin;
 
+import com.carenet.api.config.RevocationRegistry;
 import com.carenet.api.model.User;
 import com.carenet.api.repository.UserRepository;
+import com.carenet.api.service.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/admin/caregivers")
 public class AdminCareGiverController {
 
     private final UserRepository users;
+    private final RevocationRegistry revocations;
+    private final RefreshTokenService refreshTokens;
 
     // PUT /api/admin/caregivers/{id}/status
     @PutMapping("/{id}/status")
@@ -27,8 +35,14 @@ public class AdminCareGiverController {
             return ResponseEntity.badRequest().body("Invalid status");
         }
 
+        Instant now = Instant.now();
         u.setStatus(newStatus);
+        u.setStatusChangedAt(now);
         users.save(u);
+
+        // existing access tokens stop working right away; refresh tokens are dropped
+        revocations.onStatusChange(u.getId(), newStatus, now);
+        if (newStatus == User.Status.DEACTIVATED) refreshTokens.revokeAll(u.getId());
         return ResponseEntity.ok().build();
     }
 
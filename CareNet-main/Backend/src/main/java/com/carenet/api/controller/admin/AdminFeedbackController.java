@@ -1,22 +1,60 @@
 package com.carenet.api.controller.admin;
 
 import com.carenet.api.model.feedback.Feedback;
+import com.carenet.api.model.feedback.FeedbackBucket;
+import com.carenet.api.model.feedback.FeedbackRollup;
+import com.carenet.api.model.feedback.FeedbackSearchHit;
 import com.carenet.api.repository.FeedbackRepository;
+import com.carenet.api.service.FeedbackRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/admin/feedback")
 public class AdminFeedbackController {
 
+    private static final int EXPORT_BATCH = 500;
+    private static final int MAX_TOP = 100;
+    private static final int MAX_POINTS = 1000;   // ~2.7 years of days; use weeks beyond that
+    private static final int MAX_SEARCH_PAGE = 100;
+    private static final int INDEX_NOT_FOUND = 27;   // $text without a text index
+
     private final FeedbackRepository feedbacks;
+    private final FeedbackRollupService rollups;
+    private final MongoTemplate mongo;
+    private final ObjectMapper json;
 
     /* ========= LIST (used by the table) ========= */
     @GetMapping
@@ -29,45 +67,229 @@ public class AdminFeedbackController {
         return ResponseEntity.ok(out);
     }
 
+    /* ========= SEARCH (text index on notes) ========= */
+    // GET /api/admin/feedback/search?q=slow "search results" -crash&minQuality=1&maxQuality=3&from=...&page=0&size=20
+    // q: terms and "quoted phrases" (-term excludes), phrase: one exact phrase; best match first, newest on ties
+    @GetMapping("/search")
+    public ResponseEntity<FeedbackSearchDTO> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String phrase,
+            @RequestParam(required = false) Integer minQuality,
+            @RequestParam(required = false) Integer maxQuality,
+            @RequestParam(required = false) Integer minSupport,
+            @RequestParam(required = false) Integer maxSupport,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (!StringUtils.hasText(q) && !StringUtils.hasText(phrase)) return ResponseEntity.badRequest().build();
+        int p = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(MAX_SEARCH_PAGE, size));
+
+        TextCriteria text = TextCriteria.forDefaultLanguage();
+        if (StringUtils.hasText(q)) text.matching(q);
+        if (StringUtils.hasText(phrase)) text.matchingPhrase(phrase);
+        Query query = TextQuery.queryText(text).sortByScore()
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        range(query, "quality", minQuality, maxQuality);
+        range(query, "support", minSupport, maxSupport);
+        if (from != null || to != null) {
+            Criteria c = Criteria.where("createdAt");
+            if (from != null) c = c.gte(from);
+            if (to != null) c = c.lt(to);
+            query.addCriteria(c);
+        }
+        // one extra row tells whether there is a next page, no count over all matches
+        query.skip((long) p * pageSize).limit(pageSize + 1);
+
+        List<FeedbackSearchHit> hits;
+        try {
+            hits = mongo.find(query, FeedbackSearchHit.class, mongo.getCollectionName(Feedback.class));
+        } catch (DataAccessException ex) {
+            // text index still being built (see /actuator/indexes)
+            if (ex.getMostSpecificCause() instanceof MongoException me && me.getCode() == INDEX_NOT_FOUND) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+            throw ex;
+        }
+
+        FeedbackSearchDTO dto = new FeedbackSearchDTO();
+        dto.setPage(p);
+        dto.setSize(pageSize);
+        dto.setHasMore(hits.size() > pageSize);
+        dto.setItems(hits.stream().limit(pageSize).map(h -> {
+            SearchHitDTO hit = new SearchHitDTO();
+            hit.setScore(h.getScore() == null ? 0.0 : h.getScore());
+            hit.setFeedback(toRow(h));
+            return hit;
+        }).collect(Collectors.toList()));
+        return ResponseEntity.ok(dto);
+    }
+
+    /* ========= EXPORT (streamed, constant memory) ========= */
+    // GET /api/admin/feedback/export?format=ndjson|csv&from=2025-01-01T00:00:00Z&to=...&gzip=true
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       HttpServletResponse res) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+
+        // createdAt is indexed: the cursor walks the index, no in-memory sort
+        Criteria c = new Criteria();
+        if (from != null || to != null) {
+            c = Criteria.where("createdAt");
+            if (from != null) c = c.gte(from);
+            if (to != null) c = c.lt(to);
+        }
+        Query q = Query.query(c)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .cursorBatchSize(EXPORT_BATCH);
+
+        // gzip=true downloads a .gz file; no Content-Encoding, or clients would unpack it and
+        // save plain text under the .gz name
+        res.setContentType(gzip ? "application/gzip"
+                : csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        res.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"feedback." + (csv ? "csv" : "ndjson") + (gzip ? ".gz" : "") + "\"");
+
+        OutputStream raw = res.getOutputStream();
+        try (OutputStream out = new BufferedOutputStream(gzip ? new GZIPOutputStream(raw, 8192) : raw, 16 * 1024);
+             Stream<Feedback> rows = mongo.stream(q, Feedback.class)) {
+            if (csv) out.write(CSV_HEADER);
+            for (Iterator<Feedback> it = rows.iterator(); it.hasNext(); ) {
+                FeedbackRowDTO r = toRow(it.next());
+                if (csv) {
+                    out.write(toCsv(r).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(json.writeValueAsBytes(r));
+                    out.write('\n');
+                }
+            }
+        }
+    }
+
     /* ========= SUMMARY (cards + bars) ========= */
+    // single read of the incrementally maintained rollup (see FeedbackRollupService)
     @GetMapping("/summary")
     public ResponseEntity<FeedbackSummaryDTO> summary() {
-        List<Feedback> all = feedbacks.findAll();
-        int total = all.size();
+        return ResponseEntity.ok(toSummary(rollups.current()));
+    }
 
-        // round average(quality, support) to nearest star (1..5) for the breakdown
-        Map<Integer, Long> byStars = new HashMap<>();
-        for (int i = 1; i <= 5; i++) byStars.put(i, 0L);
-        for (Feedback f : all) {
-            int star = (int) Math.round(overall(f));
-            star = Math.max(1, Math.min(5, star));
-            byStars.put(star, byStars.getOrDefault(star, 0L) + 1);
+    /* ========= TRENDS (day/week buckets + top features) ========= */
+    // GET /api/admin/feedback/trends?from=...&to=...&granularity=day|week&top=10  (default: last 30 days)
+    // reads only the buckets in the window, never raw feedback
+    @GetMapping("/trends")
+    public ResponseEntity<FeedbackTrendsDTO> trends(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(defaultValue = "10") int top) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(30));
+        if (!start.isBefore(end)) return ResponseEntity.badRequest().build();
+        String period = "week".equalsIgnoreCase(granularity) ? FeedbackBucket.WEEK : FeedbackBucket.DAY;
+        long days = Duration.between(start, end).toDays();
+        if ((FeedbackBucket.WEEK.equals(period) ? days / 7 : days) > MAX_POINTS) return ResponseEntity.badRequest().build();
+
+        List<FeedbackBucket> buckets = rollups.buckets(period, start, end);
+        Map<String, FeedbackBucket> byId = new HashMap<>();
+        for (FeedbackBucket b : buckets) byId.put(b.getId(), b);
+
+        // one point per day/week, zeros where nothing was submitted
+        List<TrendPointDTO> series = new ArrayList<>();
+        LocalDate last = FeedbackRollupService.bucketStart(period, end.minusNanos(1));
+        for (LocalDate d = FeedbackRollupService.bucketStart(period, start); !d.isAfter(last);
+             d = FeedbackBucket.WEEK.equals(period) ? d.plusWeeks(1) : d.plusDays(1)) {
+            series.add(toPoint(d, byId.get(FeedbackRollupService.bucketId(period, d))));
         }
 
+        int k = Math.max(0, Math.min(MAX_TOP, top));
+        FeedbackTrendsDTO dto = new FeedbackTrendsDTO();
+        dto.setGranularity(FeedbackBucket.WEEK.equals(period) ? "week" : "day");
+        dto.setSeries(series);
+        dto.setTopUseful(toTerms(FeedbackRollupService.topK(buckets, FeedbackBucket::getUseful, k)));
+        dto.setTopMissing(toTerms(FeedbackRollupService.topK(buckets, FeedbackBucket::getMissing, k)));
+        return ResponseEntity.ok(dto);
+    }
+
+    /* ========= REBUILD ROLLUP (admin maintenance) ========= */
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<FeedbackSummaryDTO> rebuildSummary() {
+        return ResponseEntity.ok(toSummary(rollups.rebuild()));
+    }
+
+    /* ========= DELETE (admin action) ========= */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        // only the request that actually removed the doc decrements the rollup
+        feedbacks.findById(id).ifPresent(f -> {
+            if (feedbacks.removeById(id) > 0) rollups.onDelete(f);
+        });
+        return ResponseEntity.noContent().build();
+    }
+
+    /* ========= helpers ========= */
+
+    static FeedbackSummaryDTO toSummary(FeedbackRollup r) {
+        long total = r.getTotal();
+
+        // {1..5} always present for the bars
+        Map<Integer, Long> byStars = new HashMap<>();
+        for (int i = 1; i <= 5; i++) byStars.put(i, r.getStars().getOrDefault(String.valueOf(i), 0L));
+
         // simple averages for categories (0 if none)
-        double avgQuality = all.isEmpty() ? 0.0 : all.stream().mapToInt(Feedback::getQuality).average().orElse(0.0);
-        double avgSupport = all.isEmpty() ? 0.0 : all.stream().mapToInt(Feedback::getSupport).average().orElse(0.0);
+        double avgQuality = total == 0 ? 0.0 : (double) r.getQualitySum() / total;
+        double avgSupport = total == 0 ? 0.0 : (double) r.getSupportSum() / total;
 
         FeedbackSummaryDTO dto = new FeedbackSummaryDTO();
-        dto.setTotal(total);
+        dto.setTotal((int) total);
         dto.setByStars(byStars);
         Map<String, Double> avgs = new LinkedHashMap<>();
         avgs.put("quality", round1(avgQuality));
         avgs.put("support", round1(avgSupport));
         dto.setAverages(avgs);
-        return ResponseEntity.ok(dto);
+        return dto;
     }
 
-    /* ========= DELETE (admin action) ========= */
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable String id) {
-        if (feedbacks.existsById(id)) feedbacks.deleteById(id);
-        return ResponseEntity.noContent().build();
+    private static void range(Query query, String field, Integer min, Integer max) {
+        if (min == null && max == null) return;
+        Criteria c = Criteria.where(field);
+        if (min != null) c = c.gte(min);
+        if (max != null) c = c.lte(max);
+        query.addCriteria(c);
     }
 
-    /* ========= helpers ========= */
+    private static TrendPointDTO toPoint(LocalDate start, FeedbackBucket b) {
+        TrendPointDTO p = new TrendPointDTO();
+        p.setStart(start.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Map<Integer, Long> byStars = new HashMap<>();
+        for (int i = 1; i <= 5; i++) {
+            byStars.put(i, b == null || b.getStars() == null ? 0L : b.getStars().getOrDefault(String.valueOf(i), 0L));
+        }
+        p.setByStars(byStars);
+        long total = b == null ? 0 : b.getTotal();
+        p.setTotal(total);
+        Map<String, Double> avgs = new LinkedHashMap<>();
+        avgs.put("quality", total == 0 ? 0.0 : round1((double) b.getQualitySum() / total));
+        avgs.put("support", total == 0 ? 0.0 : round1((double) b.getSupportSum() / total));
+        p.setAverages(avgs);
+        return p;
+    }
+
+    private static List<TermCountDTO> toTerms(List<Map.Entry<String, Long>> top) {
+        List<TermCountDTO> out = new ArrayList<>(top.size());
+        for (Map.Entry<String, Long> e : top) {
+            TermCountDTO t = new TermCountDTO();
+            t.setTerm(e.getKey());
+            t.setCount(e.getValue());
+            out.add(t);
+        }
+        return out;
+    }
 
-    private static FeedbackRowDTO toRow(Feedback f) {
+    static FeedbackRowDTO toRow(Feedback f) {
         FeedbackRowDTO r = new FeedbackRowDTO();
         r.setId(f.getId());
         r.setEmail(f.getEmail());
@@ -84,6 +306,33 @@ public class AdminFeedbackController {
         return r;
     }
 
+    private static final byte[] CSV_HEADER =
+            "id,createdAt,email,first,last,role,quality,support,computedRating,useful,missing,notes\n"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static String toCsv(FeedbackRowDTO r) {
+        return String.join(",",
+                csv(r.getId()),
+                csv(r.getCreatedAt() == null ? null : r.getCreatedAt().toString()),
+                csv(r.getEmail()),
+                csv(r.getFirst()),
+                csv(r.getLast()),
+                csv(r.getRole()),
+                String.valueOf(r.getQuality()),
+                String.valueOf(r.getSupport()),
+                String.valueOf(r.getComputedRating()),
+                csv(r.getUseful() == null ? null : String.join(";", r.getUseful())),
+                csv(r.getMissing() == null ? null : String.join(";", r.getMissing())),
+                csv(r.getNotes())) + "\n";
+    }
+
+    // quote when needed, double embedded quotes
+    private static String csv(String v) {
+        if (v == null) return "";
+        if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) return v;
+        return '"' + v.replace("\"", "\"\"") + '"';
+    }
+
     private static double overall(Feedback f) {
         // average two integers (1..5) → 1..5 (double)
         return (f.getQuality() + f.getSupport()) / 2.0;
@@ -119,4 +368,40 @@ public class AdminFeedbackController {
         private Map<Integer, Long> byStars;       // {5: 90, 4: 11, ...}
         private Map<String, Double> averages;     // {quality: 4.7, support: 4.6}
     }
+
+    @Data
+    static class FeedbackTrendsDTO {
+        private String granularity;               // "day" | "week"
+        private List<TrendPointDTO> series;       // oldest first
+        private List<TermCountDTO> topUseful;
+        private List<TermCountDTO> topMissing;
+    }
+
+    @Data
+    static class TrendPointDTO {
+        private Instant start;                    // bucket start (UTC day / Monday)
+        private long total;
+        private Map<Integer, Long> byStars;
+        private Map<String, Double> averages;     // {quality, support}
+    }
+
+    @Data
+    static class TermCountDTO {
+        private String term;
+        private long count;
+    }
+
+    @Data
+    static class FeedbackSearchDTO {
+        private List<SearchHitDTO> items;         // best match first
+        private int page;
+        private int size;
+        private boolean hasMore;
+    }
+
+    @Data
+    static class SearchHitDTO {
+        private double score;                     // Mongo text score
+        private FeedbackRowDTO feedback;
+    }
 }
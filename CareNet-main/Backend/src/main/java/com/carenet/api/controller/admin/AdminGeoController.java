@@ -0,0 +1,24 @@
+package com.carenet.api.controller.admin;
+
+import com.carenet.api.service.GeoMatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/geo")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminGeoController {
+
+    private final GeoMatchService geo;
+
+    // POST /api/admin/geo/backfill -> parse free-text areas of existing profiles via the gazetteer
+    @PostMapping("/backfill")
+    public ResponseEntity<GeoMatchService.BackfillReport> backfill() {
+        return ResponseEntity.ok(geo.backfill());
+    }
+}
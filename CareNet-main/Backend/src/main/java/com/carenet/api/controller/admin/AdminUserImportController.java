@@ -0,0 +1,48 @@
+package com.carenet.api.controller.admin;
+
+import com.carenet.api.model.common.Role;
+import com.carenet.api.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/users")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminUserImportController {
+
+    private final UserImportService importer;
+
+    /*
+     * POST /api/admin/users/import  (Content-Type: text/csv)
+     * header row: firstName,lastName,email,password,phone,city,address,role
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<UserImportService.ImportReport> importCsv(
+            InputStream body,
+            @RequestParam(defaultValue = "CAREGIVER") Role defaultRole) throws IOException {
+        return ResponseEntity.ok(importer.importUsers(body, UserImportService.Format.CSV, defaultRole));
+    }
+
+    // POST /api/admin/users/import  (Content-Type: application/x-ndjson), one user object per line
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<UserImportService.ImportReport> importNdjson(
+            InputStream body,
+            @RequestParam(defaultValue = "CAREGIVER") Role defaultRole) throws IOException {
+        return ResponseEntity.ok(importer.importUsers(body, UserImportService.Format.NDJSON, defaultRole));
+    }
+
+    // one import at a time: a second one would compete for the same hashing threads
+    @ExceptionHandler(UserImportService.BusyException.class)
+    public ResponseEntity<String> busy(UserImportService.BusyException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+}
@@ -2,26 +2,65 @@ package com.carenet.api.controller.auth;
 
 import com.carenet.api.controller.auth.dto.AuthResponse;
 import com.carenet.api.controller.auth.dto.LoginRequest;
+import com.carenet.api.controller.auth.dto.RefreshRequest;
 import com.carenet.api.controller.auth.dto.RegisterRequest;
 import com.carenet.api.service.AuthService;
+import com.carenet.api.service.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService auth;
 
+    // Async: the servlet thread is freed while BCrypt runs on the hashing pool
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest req) throws Exception {
-        return ResponseEntity.ok(auth.register(req));
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@RequestBody RegisterRequest req) {
+        return auth.register(req).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest req) throws Exception {
-        return ResponseEntity.ok(auth.login(req));
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody LoginRequest req) {
+        return auth.login(req).thenApply(ResponseEntity::ok);
+    }
+
+    // Short-lived access token renewal: one indexed lookup, no BCrypt
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest req) {
+        return auth.refresh(req.refreshToken())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest req) {
+        auth.logout(req.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    // hashing pool full -> fail fast instead of queueing behind the storm
+    @ExceptionHandler(PasswordHashingService.BusyException.class)
+    public ResponseEntity<String> busy(PasswordHashingService.BusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    // revocation registry still loading: the refresh token was not consumed, retry it
+    @ExceptionHandler(AuthService.NotReadyException.class)
+    public ResponseEntity<String> notReady(AuthService.NotReadyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
     }
 }
@@ -1,2 +1,2 @@
 package com.carenet.api.controller.auth.dto;
-public record AuthResponse(String accessToken, String role, String userId, String email) {}
+public record AuthResponse(String accessToken, String role, String userId, String email, String refreshToken) {}
@@ -0,0 +1,2 @@
+package com.carenet.api.controller.auth.dto;
+public record RefreshRequest(String refreshToken) {}
@@ -3,8 +3,19 @@ package com.carenet.api.controller.feedback;
 
 import com.carenet.api.model.feedback.Feedback;
 import com.carenet.api.repository.FeedbackRepository;
+import com.carenet.api.service.FeedbackRollupService;
+import com.carenet.api.service.FeedbackWriteBehind;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,16 +24,25 @@ import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/feedback")
 public class FeedbackController {
 
     private final FeedbackRepository repo;
+    private final MongoTemplate mongo;
+    private final FeedbackRollupService rollups;
+    private final FeedbackWriteBehind writeBehind;
 
-    /** Public create endpoint */
+    /** Public create endpoint; 202 + assigned id when write-behind is on (stored within flush-millis) */
     @PostMapping
     public ResponseEntity<Feedback> create(@Valid @RequestBody Feedback body) {
+        if (writeBehind.isEnabled()) {
+            return ResponseEntity.accepted().body(writeBehind.submit(body));
+        }
         body.setCreatedAt(Instant.now());
-        return ResponseEntity.ok(repo.save(body));
+        Feedback saved = repo.save(body);
+        rollups.onCreate(saved);
+        return ResponseEntity.ok(saved);
     }
 
     /** Get user's own feedback */
@@ -45,18 +65,32 @@ public class FeedbackController {
             @PathVariable String id,
             @RequestParam String email,
             @Valid @RequestBody Feedback updatedFeedback) {
-        
-        return repo.findByIdAndEmail(id, email)
-                .map(existing -> {
-                    existing.setNotes(updatedFeedback.getNotes());
-                    existing.setQuality(updatedFeedback.getQuality());
-                    existing.setSupport(updatedFeedback.getSupport());
-                    existing.setUseful(updatedFeedback.getUseful());
-                    existing.setMissing(updatedFeedback.getMissing());
-                    existing.setUpdatedAt(Instant.now());
-                    return ResponseEntity.ok(repo.save(existing));
-                })
-                .orElse(ResponseEntity.notFound().build());
+
+        // one atomic findAndModify returning the pre-image: the rollup delta is taken from the
+        // values this write actually replaced, even when two edits race
+        Instant now = Instant.now();
+        Update u = new Update()
+                .set("notes", updatedFeedback.getNotes())
+                .set("quality", updatedFeedback.getQuality())
+                .set("support", updatedFeedback.getSupport())
+                .set("useful", updatedFeedback.getUseful())
+                .set("missing", updatedFeedback.getMissing())
+                .set("updatedAt", now);
+        Feedback before = mongo.findAndModify(
+                Query.query(Criteria.where("_id").is(id).and("email").is(email)), u,
+                FindAndModifyOptions.options().returnNew(false), Feedback.class);
+        if (before == null) return ResponseEntity.notFound().build();
+
+        Feedback saved = new Feedback();
+        BeanUtils.copyProperties(before, saved);
+        saved.setNotes(updatedFeedback.getNotes());
+        saved.setQuality(updatedFeedback.getQuality());
+        saved.setSupport(updatedFeedback.getSupport());
+        saved.setUseful(updatedFeedback.getUseful());
+        saved.setMissing(updatedFeedback.getMissing());
+        saved.setUpdatedAt(now);
+        rollups.onUpdate(before, saved);
+        return ResponseEntity.ok(saved);
     }
 
     /** Admin/list endpoint — protect with auth/roles in production */
@@ -64,4 +98,12 @@ public class FeedbackController {
     public List<Feedback> list() {
         return repo.findAll();
     }
+
+    // write-behind queue full -> fail fast, the client retries
+    @ExceptionHandler(FeedbackWriteBehind.QueueFullException.class)
+    public ResponseEntity<String> busy(FeedbackWriteBehind.QueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
 }
\ No newline at end of file
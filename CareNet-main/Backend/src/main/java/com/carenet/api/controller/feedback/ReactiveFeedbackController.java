@@ -0,0 +1,42 @@
+package com.carenet.api.controller.feedback;
+
+import com.carenet.api.model.feedback.Feedback;
+import com.carenet.api.repository.reactive.ReactiveFeedbackRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive serving mode: the read endpoints of FeedbackController (same paths and payloads).
+ * Feedback is created and edited through the servlet mode.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/feedback")
+@RequiredArgsConstructor
+public class ReactiveFeedbackController {
+
+    private final ReactiveFeedbackRepository repo;
+
+    /** Get user's own feedback */
+    @GetMapping("/my-feedback")
+    public Flux<Feedback> getMyFeedback(@RequestParam String email) {
+        return repo.findByEmailOrderByCreatedAtDesc(email);
+    }
+
+    /** Get specific feedback by ID (with email verification) */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Feedback>> getById(@PathVariable String id, @RequestParam String email) {
+        return repo.findByIdAndEmail(id, email)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public Flux<Feedback> list() {
+        return repo.findAll();
+    }
+}
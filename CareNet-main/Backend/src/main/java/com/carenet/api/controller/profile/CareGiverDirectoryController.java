@@ -3,35 +3,64 @@ package com.carenet.api.controller.profile;
 import com.carenet.api.model.User;
 import com.carenet.api.model.common.Role;
 import com.carenet.api.repository.UserRepository;
+import com.carenet.api.service.UserDirectoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/caregivers")
 public class CareGiverDirectoryController {
 
         private final UserRepository users;
+        private final UserDirectoryService directory;
 
         // GET /api/caregivers/profile
         @GetMapping("/profile")
         public List<Row> listCaregivers() {
                 return users.findByRolesContaining(Role.CAREGIVER.name())
                         .stream()
-                        .map(u -> new Row(
-                                u.getId(),
-                                nz(u.getFirstName()),
-                                nz(u.getEmail()),
-                                nz(u.getPhone()),
-                                ((u.getStatus() == null ? User.Status.ACTIVE : u.getStatus())).name()
-                        ))
+                        .map(CareGiverDirectoryController::toRow)
                         .toList();
         }
 
+        // GET /api/caregivers/profile/page?status=&city=&q=&sort=&dir=&page=&size=
+        @GetMapping("/profile/page")
+        public UserDirectoryService.DirectoryPage<Row> pageCaregivers(
+                        @RequestParam(required = false) String status,
+                        @RequestParam(required = false) String city,
+                        @RequestParam(required = false) String q,
+                        @RequestParam(required = false) String sort,
+                        @RequestParam(defaultValue = "asc") String dir,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "25") int size) {
+                var filter = new UserDirectoryService.Filter(status, city, q, sort, dir, page, size);
+                return directory.search(Role.CAREGIVER, filter, CareGiverDirectoryController::toRow);
+        }
+
+        static Row toRow(User u) {
+                return new Row(
+                        u.getId(),
+                        nz(u.getFirstName()),
+                        nz(u.getEmail()),
+                        nz(u.getPhone()),
+                        ((u.getStatus() == null ? User.Status.ACTIVE : u.getStatus())).name()
+                );
+        }
+
         private static String nz(String s) { return s == null ? "" : s; }
 
+        // e.g. ?status=FOO
+        @ExceptionHandler(IllegalArgumentException.class)
+        public ResponseEntity<String> badFilter(IllegalArgumentException ex) {
+                return ResponseEntity.badRequest().body("Invalid filter");
+        }
+
         public record Row(
                 String id,
                 String firstName,
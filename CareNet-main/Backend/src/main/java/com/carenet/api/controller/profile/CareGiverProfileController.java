@@ -1,32 +1,63 @@
 package com.carenet.api.controller.profile;
 
+import com.carenet.api.config.CurrentUser;
 import com.carenet.api.model.User;
+import com.carenet.api.model.profile.CareGiverCardDto;
 import com.carenet.api.model.profile.CareGiverProfile;
 import com.carenet.api.repository.CareGiverProfileRepository;
-import com.carenet.api.repository.UserRepository;
+import com.carenet.api.repository.CareSeekerProfileRepository;
+import com.carenet.api.service.CareGiverKeyMigration;
+import com.carenet.api.service.CareGiverSearchIndex;
+import com.carenet.api.service.GeoMatchService;
+import com.carenet.api.service.MatchingService;
+import com.carenet.api.service.ProfilePatchService;
+import com.carenet.api.service.PublicProfileCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/caregiver/profile")
 public class CareGiverProfileController {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final CareGiverProfileRepository profiles;
-    private final UserRepository users;
+    private final CareGiverKeyMigration keyMigration;
+    private final CareGiverSearchIndex searchIndex;
+    private final GeoMatchService geo;
+    private final CareSeekerProfileRepository seekers;
+    private final MatchingService matching;
+    private final PublicProfileCache detailCache;
+    private final ObjectMapper json;
+    private final ProfilePatchService patcher;
+    private final CurrentUser currentUser;
 
     // ---------- Authenticated endpoints (current logged-in caregiver) ----------
 
     @GetMapping("/me")
-    public ResponseEntity<?> me(Principal principal) {
-        String email = principal.getName();
-        var p = profiles.findByEmail(email).orElseGet(() -> {
+    public ResponseEntity<?> me() {
+        String email = currentUser.email();
+        var p = profiles.findByEmail(email).or(() -> keyMigration.adopt(currentUser.uid(), email)).orElseGet(() -> {
             // bootstrap from User if needed
-            User u = users.findByEmail(email).orElse(null);
+            User u = currentUser.user().orElse(null);
             var np = new CareGiverProfile();
             np.setEmail(email);
             if (u != null) {
@@ -34,15 +65,18 @@ public class CareGiverProfileController {
                 String last  = u.getLastName() == null ? "" : " " + u.getLastName();
                 np.setUsername((first + last).trim());
             }
-            return profiles.save(np);
+            var saved = profiles.save(np);
+            searchIndex.upsert(saved);
+            matching.onCaregiverSaved(saved);
+            return saved;
         });
         return ResponseEntity.ok(p);
     }
 
     @PutMapping("/me")
-    public ResponseEntity<?> update(@RequestBody CareGiverProfile incoming, Principal principal) {
-        String email = principal.getName();
-        var p = profiles.findByEmail(email).orElseGet(() -> {
+    public ResponseEntity<?> update(@RequestBody CareGiverProfile incoming) {
+        String email = currentUser.email();
+        var p = profiles.findByEmail(email).or(() -> keyMigration.adopt(currentUser.uid(), email)).orElseGet(() -> {
             var np = new CareGiverProfile();
             np.setEmail(email);
             return np;
@@ -60,10 +94,51 @@ public class CareGiverProfileController {
         p.setYears(incoming.getYears());
         p.setSkills(incoming.getSkills());
 
+        // structured service area: explicit values win, else parsed from serviceRadius
+        p.setServiceLocation(incoming.getServiceLocation());
+        p.setServiceRadiusKm(incoming.getServiceRadiusKm());
+        geo.fillServiceArea(p);
+
+        p.setVersion(patcher.versionForSave(p.getId(), p.getVersion(), CareGiverProfile.class));
         profiles.save(p);
+        searchIndex.upsert(p);
+        matching.onCaregiverSaved(p);
+        detailCache.invalidate(p.getId(), p.getVersion());
         return ResponseEntity.ok(p);
     }
 
+    /**
+     * Partial update: only the fields present in the body are written ($set, or $unset for
+     * null) in a single findAndModify. Send the last seen "version" (body or If-Match) to
+     * get 409 instead of overwriting a concurrent edit.
+     */
+    @PatchMapping("/me")
+    public ResponseEntity<?> patch(@RequestBody Map<String, Object> body,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        String email = currentUser.email();
+        Long expected = expectedVersion(body, ifMatch);
+        // an unconditional patch upserts: pick up a profile still under the old key first
+        if (expected == null) keyMigration.adopt(currentUser.uid(), email);
+        var r = patcher.patchCaregiver(email, body, expected);
+        return switch (r.outcome()) {
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).body("Profile was modified, reload and retry");
+            case OK -> {
+                var p = r.profile();
+                searchIndex.upsert(p);
+                matching.onCaregiverSaved(p);
+                detailCache.invalidate(p.getId(), p.getVersion());
+                yield ResponseEntity.ok().eTag("\"" + p.getVersion() + "\"").body(p);
+            }
+        };
+    }
+
+    // PUT with a stale copy (someone saved in between)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> conflict(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Profile was modified, reload and retry");
+    }
+
     // ---------- Public endpoints (for CareSeeker UI) ----------
 
     /**
@@ -74,38 +149,129 @@ public class CareGiverProfileController {
     public List<CareGiverCardDto> listPublic() {
         return profiles.findAll()
                 .stream()
-                .map(p -> new CareGiverCardDto(
-                        p.getId(),
-                        p.getUsername(),
-                        p.getAvatarUrl(),
-                        p.getTagline(),
-                        p.getSkills(),
-                        p.getLanguages()
-                ))
+                .map(CareGiverProfileController::toCard)
                 .toList();
     }
 
+    /**
+     * Paged variant of /public: keyset on _id, card fields projected in Mongo.
+     * Pass back {@code nextCursor} to get the following page (null = last page).
+     */
+    @GetMapping("/public/page")
+    public ResponseEntity<?> listPublicPage(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "20") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // fetch one extra row to know whether another page exists
+        var page = PageRequest.of(0, limit + 1, Sort.by(Sort.Direction.ASC, "id"));
+
+        List<CareGiverProfile> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = profiles.findCards(page);
+        } else {
+            ObjectId after = decodeCursor(cursor);
+            if (after == null) return ResponseEntity.badRequest().body("Invalid cursor");
+            rows = profiles.findCardsAfter(after, page);
+        }
+
+        boolean more = rows.size() > limit;
+        if (more) rows = rows.subList(0, limit);
+        String next = more ? encodeCursor(rows.get(rows.size() - 1).getId()) : null;
+        return ResponseEntity.ok(new CardPage(rows.stream().map(CareGiverProfileController::toCard).toList(), next));
+    }
+
+    /**
+     * Ranked search over skills / languages / tagline / about, served from the
+     * in-memory index (no Mongo round-trip). Tokens match exactly or by prefix.
+     * GET /api/caregiver/profile/search?q=child ca&skill=CPR&language=English&page=0&size=20
+     */
+    @GetMapping("/search")
+    public CareGiverSearchIndex.Result search(@RequestParam(defaultValue = "") String q,
+                                              @RequestParam(required = false) String skill,
+                                              @RequestParam(required = false) String language,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size) {
+        return searchIndex.search(q, skill, language, page, size);
+    }
+
+    /**
+     * Caregivers whose own service radius covers the given point, nearest first.
+     * Without lat/lng the calling care seeker's stored location is used.
+     * GET /api/caregiver/profile/public/near?lat=6.93&lng=79.86&page=0&size=20
+     */
+    @GetMapping("/public/near")
+    public ResponseEntity<?> near(@RequestParam(required = false) Double lat,
+                                  @RequestParam(required = false) Double lng,
+                                  @RequestParam(defaultValue = "0") int page,
+                                  @RequestParam(defaultValue = "20") int size,
+                                  @RequestAttribute(value = "uid", required = false) String uid) {
+        GeoJsonPoint point = null;
+        if (lat != null && lng != null) {
+            point = new GeoJsonPoint(lng, lat);
+        } else if (uid != null) {
+            point = seekers.findByUserId(uid).map(s -> s.getGeoLocation()).orElse(null);
+        }
+        if (point == null) return ResponseEntity.badRequest().body("lat/lng required (no stored location)");
+        return ResponseEntity.ok(geo.caregiversServing(point, page, size));
+    }
+
     /**
      * Full profile by ID for the right-side detail panel.
      */
     @GetMapping("/public/{id}")
-    public ResponseEntity<?> getPublic(@PathVariable String id) {
-        return profiles.findById(id)
-                .<ResponseEntity<?>>map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> getPublic(@PathVariable String id,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws JsonProcessingException {
+        // repeat views: served from cached bytes, 304 when the client already has them
+        PublicProfileCache.Entry e = detailCache.get(id);
+        if (e == null) {
+            var p = profiles.findById(id).orElse(null);
+            if (p == null) return ResponseEntity.notFound().build();
+            e = detailCache.put(id, p.getVersion(), json.writeValueAsBytes(p));
+        }
+        return PublicProfileCache.respond(e, ifNoneMatch);
+    }
+
+    // ---------- helpers ----------
+
+    // "version" in the body wins; otherwise If-Match: "3" (weak prefix tolerated)
+    static Long expectedVersion(Map<String, Object> body, String ifMatch) {
+        if (body.get("version") instanceof Number n) return n.longValue();
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.equals("*")) return null;
+        String v = ifMatch.trim().replaceFirst("^W/", "").replace("\"", "");
+        try {
+            return Long.parseLong(v);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    static CareGiverCardDto toCard(CareGiverProfile p) {
+        return new CareGiverCardDto(
+                p.getId(),
+                p.getUsername(),
+                p.getAvatarUrl(),
+                p.getTagline(),
+                p.getSkills(),
+                p.getLanguages()
+        );
+    }
+
+    // cursor is opaque to clients; today it just wraps the last _id
+    static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static ObjectId decodeCursor(String cursor) {
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return ObjectId.isValid(id) ? new ObjectId(id) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
     }
 
     // ---------- DTOs ----------
 
-    /**
-     * Minimal DTO used by /public list to keep payload small for the cards.
-     */
-    public record CareGiverCardDto(
-            String id,
-            String username,
-            String avatarUrl,
-            String tagline,
-            java.util.Set<String> skills,
-            java.util.List<CareGiverProfile.Lang> languages
-    ) {}
+    /** One page of cards plus the cursor for the next page (null when done). */
+    public record CardPage(List<CareGiverCardDto> items, String nextCursor) {}
 }
@@ -4,17 +4,22 @@ import com.carenet.api.model.User;
 import com.carenet.api.model.common.Role;
 import com.carenet.api.repository.CareSeekerProfileRepository;
 import com.carenet.api.repository.UserRepository;
+import com.carenet.api.service.UserDirectoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/careseekers")
 public class CareSeekerDirectoryController {
 
         private final UserRepository users;
+        private final UserDirectoryService directory;
         private final CareSeekerProfileRepository profiles; // in case you want to enrich with profile data
 
         /**
@@ -25,18 +30,45 @@ public class CareSeekerDirectoryController {
         public List<Row> listCareseekers() {
                 return users.findByRolesContaining(Role.CARE_SEEKER.name())
                         .stream()
-                        .map(u -> new Row(
-                                u.getId(),
-                                safe(u.getFirstName()),
-                                safe(u.getEmail()),
-                                safe(u.getPhone()),
-                                (u.getStatus() == null ? User.Status.ACTIVE : u.getStatus()).name()
-                        ))
+                        .map(CareSeekerDirectoryController::toRow)
                         .toList();
         }
 
+        /**
+         * Paged, filtered variant for large tables.
+         * GET /api/careseekers/profile/page?status=&city=&q=&sort=&dir=&page=&size=
+         */
+        @GetMapping("/profile/page")
+        public UserDirectoryService.DirectoryPage<Row> pageCareseekers(
+                        @RequestParam(required = false) String status,
+                        @RequestParam(required = false) String city,
+                        @RequestParam(required = false) String q,
+                        @RequestParam(required = false) String sort,
+                        @RequestParam(defaultValue = "asc") String dir,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "25") int size) {
+                var filter = new UserDirectoryService.Filter(status, city, q, sort, dir, page, size);
+                return directory.search(Role.CARE_SEEKER, filter, CareSeekerDirectoryController::toRow);
+        }
+
+        static Row toRow(User u) {
+                return new Row(
+                        u.getId(),
+                        safe(u.getFirstName()),
+                        safe(u.getEmail()),
+                        safe(u.getPhone()),
+                        (u.getStatus() == null ? User.Status.ACTIVE : u.getStatus()).name()
+                );
+        }
+
         private static String safe(String s) { return s == null ? "" : s; }
 
+        // e.g. ?status=FOO
+        @ExceptionHandler(IllegalArgumentException.class)
+        public ResponseEntity<String> badFilter(IllegalArgumentException ex) {
+                return ResponseEntity.badRequest().body("Invalid filter");
+        }
+
         public record Row(
                 String id,
                 String firstName,
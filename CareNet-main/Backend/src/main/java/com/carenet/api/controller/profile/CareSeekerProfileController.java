@@ -1,34 +1,49 @@
 package com.carenet.api.controller.profile;
 
+import com.carenet.api.config.CurrentUser;
 import com.carenet.api.model.User;
 import com.carenet.api.model.profile.CareSeekerProfile;
 import com.carenet.api.repository.CareSeekerProfileRepository;
-import com.carenet.api.repository.UserRepository;
+import com.carenet.api.service.GeoMatchService;
+import com.carenet.api.service.MatchingService;
+import com.carenet.api.service.ProfilePatchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/careseeker/profile")
 @RequiredArgsConstructor
 public class CareSeekerProfileController {
 
     private final CareSeekerProfileRepository profiles;
-    private final UserRepository users;
+    private final GeoMatchService geo;
+    private final MatchingService matching;
+    private final ProfilePatchService patcher;
+    private final CurrentUser currentUser;
 
     @GetMapping("/me")
-    public ResponseEntity<?> me(@RequestAttribute("uid") String uid) {
+    public ResponseEntity<?> me() {
+        String uid = currentUser.uid();
         return profiles.findByUserId(uid)
             .<ResponseEntity<?>>map(ResponseEntity::ok)
             .orElseGet(() -> {
-                User u = users.findById(uid).orElse(null);
+                User u = currentUser.user().orElse(null);
                 CareSeekerProfile p = new CareSeekerProfile();
                 p.setUserId(uid);
                 if (u != null) {
@@ -41,8 +56,8 @@ public class CareSeekerProfileController {
     }
 
     @PutMapping("/me")
-    public ResponseEntity<?> update(@RequestAttribute("uid") String uid,
-                                    @RequestBody Map<String, Object> body) {
+    public ResponseEntity<?> update(@RequestBody Map<String, Object> body) {
+        String uid = currentUser.uid();
         CareSeekerProfile p = profiles.findByUserId(uid).orElseGet(() -> {
             CareSeekerProfile np = new CareSeekerProfile();
             np.setUserId(uid);
@@ -50,11 +65,20 @@ public class CareSeekerProfileController {
         });
 
         // Simple string fields
+        String oldLocation = p.getLocation();
         p.setPhone(stringOr(p.getPhone(), body.get("phone")));
         p.setAvatarUrl(stringOr(p.getAvatarUrl(), body.get("avatarUrl")));
         p.setLocation(stringOr(p.getLocation(), body.get("location")));
         p.setGender(stringOr(p.getGender(), body.get("gender")));
 
+        // point: explicit lat/lng, else re-derived from the text when it changed
+        if (body.get("lat") instanceof Number lat && body.get("lng") instanceof Number lng) {
+            p.setGeoLocation(new GeoJsonPoint(lng.doubleValue(), lat.doubleValue()));
+        } else if (!Objects.equals(oldLocation, p.getLocation())) {
+            p.setGeoLocation(null);
+        }
+        geo.fillLocation(p);
+
         // dob (yyyy-MM-dd)
         Object dobVal = body.get("dob");
         if (dobVal instanceof String s && !s.isBlank()) {
@@ -72,10 +96,50 @@ public class CareSeekerProfileController {
             p.setCareTypes(types);
         }
 
+        Object languagesVal = body.get("languages");
+        if (languagesVal instanceof Collection<?> col) {
+            p.setLanguages(toStringSet(col));
+        }
+
+        p.setVersion(patcher.versionForSave(p.getId(), p.getVersion(), CareSeekerProfile.class));
         profiles.save(p);
+        matching.onSeekerSaved(p);
         return ResponseEntity.ok(p);
     }
 
+    /** Partial update ($set/$unset of the supplied fields only), optimistic on "version" / If-Match. */
+    @PatchMapping("/me")
+    public ResponseEntity<?> patch(@RequestBody Map<String, Object> body,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var r = patcher.patchSeeker(currentUser.uid(), body, CareGiverProfileController.expectedVersion(body, ifMatch));
+        return switch (r.outcome()) {
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case CONFLICT -> ResponseEntity.status(HttpStatus.CONFLICT).body("Profile was modified, reload and retry");
+            case OK -> {
+                matching.onSeekerSaved(r.profile());
+                yield ResponseEntity.ok().eTag("\"" + r.profile().getVersion() + "\"").body(r.profile());
+            }
+        };
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> conflict(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Profile was modified, reload and retry");
+    }
+
+    /** Precomputed caregiver recommendations for the logged-in seeker (served from memory). */
+    @GetMapping("/me/recommendations")
+    public List<MatchingService.Recommendation> recommendations() {
+        return matching.recommendationsFor(currentUser.uid());
+    }
+
+    private static Set<String> toStringSet(Collection<?> col) {
+        return col.stream()
+                .filter(e -> e != null && !e.toString().isBlank())
+                .map(e -> e.toString().trim())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
     private static String stringOr(String current, Object incoming) {
         if (incoming instanceof String s) return s;
         return current;
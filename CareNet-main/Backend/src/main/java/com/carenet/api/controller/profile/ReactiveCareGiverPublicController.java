@@ -0,0 +1,98 @@
+package com.carenet.api.controller.profile;
+
+import com.carenet.api.controller.profile.CareGiverProfileController.CardPage;
+import com.carenet.api.model.profile.CareGiverCardDto;
+import com.carenet.api.model.profile.CareGiverProfile;
+import com.carenet.api.repository.reactive.ReactiveCareGiverProfileRepository;
+import com.carenet.api.service.CareGiverSearchIndex;
+import com.carenet.api.service.PublicProfileCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive serving mode: the public caregiver read endpoints of CareGiverProfileController
+ * (same paths and payloads). This node only reads, so cached detail bytes age out by the
+ * app.profile-cache TTL rather than being invalidated on save.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/caregiver/profile")
+@RequiredArgsConstructor
+public class ReactiveCareGiverPublicController {
+
+    private final ReactiveCareGiverProfileRepository profiles;
+    private final CareGiverSearchIndex searchIndex;
+    private final PublicProfileCache detailCache;
+    private final ObjectMapper json;
+
+    @GetMapping("/public")
+    public Flux<CareGiverCardDto> listPublic() {
+        return profiles.findAllCards().map(CareGiverProfileController::toCard);
+    }
+
+    @GetMapping("/public/page")
+    public Mono<ResponseEntity<?>> listPublicPage(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        int limit = Math.max(1, Math.min(size, CareGiverProfileController.MAX_PAGE_SIZE));
+        // fetch one extra row to know whether another page exists
+        var page = PageRequest.of(0, limit + 1, Sort.by(Sort.Direction.ASC, "id"));
+
+        Flux<CareGiverProfile> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = profiles.findCards(page);
+        } else {
+            ObjectId after = CareGiverProfileController.decodeCursor(cursor);
+            if (after == null) return Mono.just(ResponseEntity.badRequest().body("Invalid cursor"));
+            rows = profiles.findCardsAfter(after, page);
+        }
+
+        return rows.collectList().map(list -> {
+            boolean more = list.size() > limit;
+            List<CareGiverProfile> items = more ? list.subList(0, limit) : list;
+            String next = more ? CareGiverProfileController.encodeCursor(items.get(items.size() - 1).getId()) : null;
+            return ResponseEntity.ok(new CardPage(items.stream().map(CareGiverProfileController::toCard).toList(), next));
+        });
+    }
+
+    // in-memory index, nothing to wait on
+    @GetMapping("/search")
+    public CareGiverSearchIndex.Result search(@RequestParam(defaultValue = "") String q,
+                                              @RequestParam(required = false) String skill,
+                                              @RequestParam(required = false) String language,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size) {
+        return searchIndex.search(q, skill, language, page, size);
+    }
+
+    @GetMapping("/public/{id}")
+    public Mono<ResponseEntity<?>> getPublic(@PathVariable String id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        PublicProfileCache.Entry cached = detailCache.get(id);
+        Mono<PublicProfileCache.Entry> entry = cached != null
+                ? Mono.just(cached)
+                : profiles.findById(id).map(p -> detailCache.put(id, p.getVersion(), toBytes(p)));
+
+        return entry.<ResponseEntity<?>>map(e -> PublicProfileCache.respond(e, ifNoneMatch))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private byte[] toBytes(CareGiverProfile p) {
+        try {
+            return json.writeValueAsBytes(p);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize profile " + p.getId(), e);
+        }
+    }
+}
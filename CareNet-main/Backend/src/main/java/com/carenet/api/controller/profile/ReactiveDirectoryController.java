@@ -0,0 +1,72 @@
+package com.carenet.api.controller.profile;
+
+import com.carenet.api.model.common.Role;
+import com.carenet.api.repository.reactive.ReactiveUserRepository;
+import com.carenet.api.service.ReactiveUserDirectoryService;
+import com.carenet.api.service.UserDirectoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive serving mode: caregiver and care seeker directories.
+ * Same paths and payloads as CareGiverDirectoryController / CareSeekerDirectoryController.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReactiveDirectoryController {
+
+    private final ReactiveUserRepository users;
+    private final ReactiveUserDirectoryService directory;
+
+    // GET /api/caregivers/profile
+    @GetMapping("/caregivers/profile")
+    public Flux<CareGiverDirectoryController.Row> listCaregivers() {
+        return users.findByRolesContaining(Role.CAREGIVER.name()).map(CareGiverDirectoryController::toRow);
+    }
+
+    // GET /api/caregivers/profile/page?status=&city=&q=&sort=&dir=&page=&size=
+    @GetMapping("/caregivers/profile/page")
+    public Mono<UserDirectoryService.DirectoryPage<CareGiverDirectoryController.Row>> pageCaregivers(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "asc") String dir,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size) {
+        var filter = new UserDirectoryService.Filter(status, city, q, sort, dir, page, size);
+        return directory.search(Role.CAREGIVER, filter, CareGiverDirectoryController::toRow);
+    }
+
+    // GET /api/careseekers/profile
+    @GetMapping("/careseekers/profile")
+    public Flux<CareSeekerDirectoryController.Row> listCareseekers() {
+        return users.findByRolesContaining(Role.CARE_SEEKER.name()).map(CareSeekerDirectoryController::toRow);
+    }
+
+    // GET /api/careseekers/profile/page?status=&city=&q=&sort=&dir=&page=&size=
+    @GetMapping("/careseekers/profile/page")
+    public Mono<UserDirectoryService.DirectoryPage<CareSeekerDirectoryController.Row>> pageCareseekers(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "asc") String dir,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size) {
+        var filter = new UserDirectoryService.Filter(status, city, q, sort, dir, page, size);
+        return directory.search(Role.CARE_SEEKER, filter, CareSeekerDirectoryController::toRow);
+    }
+
+    // e.g. ?status=FOO
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badFilter(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body("Invalid filter");
+    }
+}
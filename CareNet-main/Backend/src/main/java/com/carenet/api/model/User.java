@@ -6,9 +6,14 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 @Data
@@ -16,6 +21,14 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @Document("users")
+// admin directories: filter by role + status in _id order, prefix search on searchKeys, and one
+// index per sortable column (UserDirectoryService.SORTABLE) so a sorted page is an index walk
+@CompoundIndex(name = "roles_status_id", def = "{'roles': 1, 'status': 1, '_id': 1}")
+@CompoundIndex(name = "roles_searchKeys", def = "{'roles': 1, 'searchKeys': 1}")
+@CompoundIndex(name = "roles_firstName_id", def = "{'roles': 1, 'firstName': 1, '_id': 1}")
+@CompoundIndex(name = "roles_lastName_id", def = "{'roles': 1, 'lastName': 1, '_id': 1}")
+@CompoundIndex(name = "roles_email_id", def = "{'roles': 1, 'email': 1, '_id': 1}")
+@CompoundIndex(name = "roles_city_id", def = "{'roles': 1, 'city': 1, '_id': 1}")
 public class User {
 
     @Id
@@ -50,6 +63,22 @@ public class User {
     @Builder.Default
     private Status status = Status.ACTIVE;
 
+    // last admin status change; drives token revocation (see RevocationRegistry)
+    @Indexed(sparse = true)
+    private Instant statusChangedAt;
+
+    // lower-cased firstName, lastName and email; set on every save (MongoConfig) so the
+    // directory prefix search is a case-sensitive, index-bounded regex
+    private List<String> searchKeys;
+
+    public static List<String> searchKeys(String firstName, String lastName, String email) {
+        List<String> keys = new ArrayList<>(3);
+        for (String s : new String[] {firstName, lastName, email}) {
+            if (s != null && !s.isBlank()) keys.add(s.trim().toLowerCase(Locale.ROOT));
+        }
+        return keys;
+    }
+
     /** Convenience helper (optional) */
     public boolean isActive() {
         return status == null || status == Status.ACTIVE;
@@ -0,0 +1,38 @@
+package com.carenet.api.model.auth;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Server-side record of an issued refresh token. Only the SHA-256 of the token is
+ * stored. Every refresh rotates the token; a token from the same family presented
+ * twice means it leaked, so the whole family is revoked.
+ */
+@Data
+@Document("refresh_tokens")
+public class RefreshToken {
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String tokenHash;       // hex SHA-256 of the opaque token
+
+    @Indexed
+    private String familyId;        // all rotations of one login share this
+
+    @Indexed
+    private String userId;
+    private String email;
+    private Set<String> roles;      // snapshot used to mint the next access token
+
+    private Instant createdAt;
+    private Instant usedAt;         // set once rotated; null while still valid
+
+    @Indexed(expireAfter = "0s")    // TTL index: Mongo removes the doc at expiresAt
+    private Instant expiresAt;
+}
@@ -2,7 +2,9 @@ package com.carenet.api.model.feedback;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.*;
@@ -12,6 +14,8 @@ import java.util.List;
 
 @Data
 @Document("feedback")
+// "my feedback" list: findByEmailOrderByCreatedAtDesc
+@CompoundIndex(name = "email_createdAt", def = "{'email': 1, 'createdAt': -1}")
 public class Feedback {
     @Id
     private String id;
@@ -28,7 +32,8 @@ public class Feedback {
 
     private String role;            // "Owner / Founder" | "Manager" | etc.
 
-    private String notes;           // free text
+    @TextIndexed
+    private String notes;           // free text; admin search (AdminFeedbackController.search)
 
     @Min(1) @Max(5)
     private int quality;            // 1..5
@@ -42,8 +47,5 @@ public class Feedback {
     @Indexed
     private Instant createdAt = Instant.now();
 
-    public void setUpdatedAt(Instant now) {
-        
-        throw new UnsupportedOperationException("Unimplemented method 'setUpdatedAt'");
-    }
+    private Instant updatedAt;
 }
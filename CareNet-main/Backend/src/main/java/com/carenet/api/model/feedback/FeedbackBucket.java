@@ -0,0 +1,36 @@
+package com.carenet.api.model.feedback;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Feedback counters for one UTC day or ISO week, kept current with $inc next to
+ * {@link FeedbackRollup} so trend and top-feature queries read a handful of buckets
+ * instead of raw feedback.
+ */
+@Data
+@Document("feedback_buckets")
+public class FeedbackBucket {
+    public static final String DAY = "D";
+    public static final String WEEK = "W";
+
+    // period + start date, e.g. "D2025-01-15" or "W2025-01-13" (Monday): a range of one
+    // period sorts by time, so windows are _id range scans
+    @Id
+    private String id;
+
+    private Instant start;
+
+    private long total;
+    private Map<String, Long> stars;    // "1".."5" -> count
+    private long qualitySum;
+    private long supportSum;
+
+    // feature -> count; keys escaped ('.', '$' are not allowed in field names)
+    private Map<String, Long> useful;
+    private Map<String, Long> missing;
+}
@@ -0,0 +1,30 @@
+package com.carenet.api.model.feedback;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Pre-aggregated feedback summary (single document, id "global").
+ * Kept current with $inc on every create / update / delete so the admin
+ * summary is one document read instead of a collection scan.
+ */
+@Data
+@Document("feedback_rollups")
+public class FeedbackRollup {
+    public static final String GLOBAL = "global";
+
+    @Id
+    private String id;
+
+    private long total;
+    private Map<String, Long> stars;    // "1".."5" -> count (rounded avg of quality/support)
+    private long qualitySum;
+    private long supportSum;
+
+    private Instant rebuiltAt;          // last full recompute, null if never
+    private Instant bucketsRebuiltAt;   // last full recompute of the day/week buckets, null if never
+}
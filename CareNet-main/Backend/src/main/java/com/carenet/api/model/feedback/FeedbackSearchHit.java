@@ -0,0 +1,13 @@
+package com.carenet.api.model.feedback;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.mongodb.core.mapping.TextScore;
+
+/** Feedback read by a $text search, with its relevance score (read-only, never stored). */
+@Getter
+@Setter
+public class FeedbackSearchHit extends Feedback {
+    @TextScore
+    private Float score;
+}
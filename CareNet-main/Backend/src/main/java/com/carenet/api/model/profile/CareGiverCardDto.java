@@ -0,0 +1,16 @@
+package com.carenet.api.model.profile;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Minimal caregiver card (public list, search, matching, nearby) to keep payloads small.
+ */
+public record CareGiverCardDto(
+        String id,
+        String username,
+        String avatarUrl,
+        String tagline,
+        Set<String> skills,
+        List<CareGiverProfile.Lang> languages
+) {}
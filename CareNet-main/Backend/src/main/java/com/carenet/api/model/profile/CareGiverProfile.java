@@ -2,6 +2,10 @@ package com.carenet.api.model.profile;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -17,6 +21,9 @@ public class CareGiverProfile {
     @Indexed(unique = true)
     private String email;           // links to User.email
 
+    @Version
+    private Long version;           // optimistic locking; bumped on every write
+
     // Header
     private String username;        // display name
     private String avatarUrl;
@@ -54,6 +61,11 @@ public class CareGiverProfile {
 
     // Service radius & years
     private String serviceRadius;   // e.g., "25 km within Colombo"
+
+    // Structured service area (parsed from serviceRadius when not given explicitly)
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint serviceLocation;   // centre of the area
+    private Double serviceRadiusKm;
     private String years;           // e.g., "5 years"
 
     // Skills / service types
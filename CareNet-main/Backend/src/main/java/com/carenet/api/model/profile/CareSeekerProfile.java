@@ -3,6 +3,10 @@ package com.carenet.api.model.profile;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDate;
@@ -16,6 +20,9 @@ public class CareSeekerProfile {
     @Indexed(unique = true)
     private String userId;
 
+    @Version
+    private Long version;           // optimistic locking; bumped on every write
+
     private String email;
     private String firstName;
     private String lastName;
@@ -25,7 +32,10 @@ public class CareSeekerProfile {
 
     // UI fields
     private String location;
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint geoLocation;   // structured form of location
     private String gender;
     private LocalDate dob;
     private Set<String> careTypes;
+    private Set<String> languages;  // preferred caregiver languages (used for matching)
 }
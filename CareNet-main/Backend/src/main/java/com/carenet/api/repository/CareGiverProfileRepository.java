@@ -1,12 +1,26 @@
 package com.carenet.api.repository;
 
 import com.carenet.api.model.profile.CareGiverProfile;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface CareGiverProfileRepository extends MongoRepository<CareGiverProfile, String> {
+    // only the fields CareGiverCardDto needs leave the database
+    String CARD_FIELDS = "{ 'username': 1, 'avatarUrl': 1, 'tagline': 1, 'skills': 1, 'languages': 1 }";
+
     Optional<CareGiverProfile> findByEmail(String email);
     List<CareGiverProfile> findByUsernameNotNullAndAboutNotNull();
+
+    /** First page of card projections (keyset: sort by _id). */
+    @Query(value = "{}", fields = CARD_FIELDS)
+    List<CareGiverProfile> findCards(Pageable page);
+
+    /** Next page of card projections after the given _id. */
+    @Query(value = "{ '_id': { '$gt': ?0 } }", fields = CARD_FIELDS)
+    List<CareGiverProfile> findCardsAfter(ObjectId afterId, Pageable page);
 }
@@ -11,4 +11,5 @@ public interface FeedbackRepository extends MongoRepository<Feedback, String> {
     java.util.List<Feedback> findAllByOrderByCreatedAtDesc();
     List<Feedback> findByEmailOrderByCreatedAtDesc(String email);
     Optional<Feedback> findByIdAndEmail(String id, String email);
+    long removeById(String id);     // returns number deleted (0 if already gone)
 }
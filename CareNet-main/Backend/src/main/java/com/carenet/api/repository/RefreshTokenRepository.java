@@ -0,0 +1,12 @@
+package com.carenet.api.repository;
+
+import com.carenet.api.model.auth.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    long deleteByFamilyId(String familyId);
+    long deleteByUserId(String userId);
+}
@@ -0,0 +1,25 @@
+package com.carenet.api.repository.reactive;
+
+import com.carenet.api.model.profile.CareGiverProfile;
+import com.carenet.api.repository.CareGiverProfileRepository;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+/** Read side of CareGiverProfileRepository for the reactive serving mode. */
+public interface ReactiveCareGiverProfileRepository extends ReactiveMongoRepository<CareGiverProfile, String> {
+
+    /** First page of card projections (keyset: sort by _id). */
+    @Query(value = "{}", fields = CareGiverProfileRepository.CARD_FIELDS)
+    Flux<CareGiverProfile> findCards(Pageable page);
+
+    /** Next page of card projections after the given _id. */
+    @Query(value = "{ '_id': { '$gt': ?0 } }", fields = CareGiverProfileRepository.CARD_FIELDS)
+    Flux<CareGiverProfile> findCardsAfter(ObjectId afterId, Pageable page);
+
+    /** Every card, projected (the blocking /public loads whole documents). */
+    @Query(value = "{}", fields = CareGiverProfileRepository.CARD_FIELDS)
+    Flux<CareGiverProfile> findAllCards();
+}
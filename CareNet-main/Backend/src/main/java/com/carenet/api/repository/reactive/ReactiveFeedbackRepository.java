@@ -0,0 +1,12 @@
+package com.carenet.api.repository.reactive;
+
+import com.carenet.api.model.feedback.Feedback;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Read side of FeedbackRepository for the reactive serving mode. */
+public interface ReactiveFeedbackRepository extends ReactiveMongoRepository<Feedback, String> {
+    Flux<Feedback> findByEmailOrderByCreatedAtDesc(String email);
+    Mono<Feedback> findByIdAndEmail(String id, String email);
+}
@@ -0,0 +1,10 @@
+package com.carenet.api.repository.reactive;
+
+import com.carenet.api.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+/** Read side of UserRepository for the reactive serving mode. */
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+    Flux<User> findByRolesContaining(String role);
+}
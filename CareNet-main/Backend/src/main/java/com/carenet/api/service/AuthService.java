@@ -7,21 +7,41 @@ import com.carenet.api.model.User;
 import com.carenet.api.model.common.Role;
 import com.carenet.api.repository.UserRepository;
 import com.carenet.api.config.JwtService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.carenet.api.config.RevocationRegistry;
+import com.nimbusds.jose.JOSEException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class AuthService {
     private final UserRepository users;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService hashing;
     private final JwtService jwt;
+    private final RefreshTokenService refreshTokens;
+    private final RevocationRegistry revocations;
+    private final Executor io;   // Mongo writes after a hash; keeps the BCrypt threads CPU-only
 
-    public AuthResponse register(RegisterRequest r) throws Exception {
+    public AuthService(UserRepository users, PasswordHashingService hashing, JwtService jwt,
+                       RefreshTokenService refreshTokens, RevocationRegistry revocations,
+                       @Qualifier("applicationTaskExecutor") Executor io) {
+        this.users = users;
+        this.hashing = hashing;
+        this.jwt = jwt;
+        this.refreshTokens = refreshTokens;
+        this.revocations = revocations;
+        this.io = io;
+    }
+
+    // BCrypt runs on the hashing pool, the save + token issue on the task executor;
+    // the request thread is released meanwhile
+    public CompletableFuture<AuthResponse> register(RegisterRequest r) {
         if (users.findByEmail(r.email()).isPresent()) {
             throw new RuntimeException("Email already registered");
         }
@@ -32,7 +52,6 @@ public class AuthService {
         u.setEmail(r.email());
         u.setCity(r.city());
         u.setAddress(r.address());
-        u.setPasswordHash(encoder.encode(r.password()));
         u.setRoles(Set.of(r.role() == null ? Role.CARE_SEEKER : r.role()));
 
         // Ensure newly created users are ACTIVE by default
@@ -40,18 +59,14 @@ public class AuthService {
             u.setStatus(User.Status.ACTIVE);
         }
 
-        users.save(u);
-
-        String role = u.getRoles().iterator().next().name();
-        String token = jwt.create(Map.of(
-                "sub", u.getId(),
-                "email", u.getEmail(),
-                "roles", u.getRoles()
-        ));
-        return new AuthResponse(token, role, u.getId(), u.getEmail());
+        return hashing.encode(r.password()).thenApplyAsync(hash -> {
+            u.setPasswordHash(hash);
+            users.save(u);
+            return issue(u);
+        }, io);
     }
 
-    public AuthResponse login(LoginRequest r) throws Exception {
+    public CompletableFuture<AuthResponse> login(LoginRequest r) {
         User u = users.findByEmail(r.email())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
@@ -61,16 +76,61 @@ public class AuthService {
             throw new RuntimeException("Account is deactivated. Please contact support.");
         }
 
-        if (!encoder.matches(r.password(), u.getPasswordHash())) {
-            throw new RuntimeException("Invalid email or password");
-        }
+        return hashing.matches(r.password(), u.getPasswordHash()).thenApplyAsync(ok -> {
+            if (!ok) {
+                throw new RuntimeException("Invalid email or password");
+            }
+            return issue(u);
+        }, io);
+    }
+
+    /**
+     * Rotate a refresh token into a new access + refresh pair; no password hash involved.
+     * Throws NotReadyException (token untouched) until the revocation registry has loaded.
+     */
+    public Optional<AuthResponse> refresh(String refreshToken) {
+        if (!revocations.isLoaded()) throw new NotReadyException(1);
+        return refreshTokens.rotate(refreshToken, t -> !revocations.isDeactivated(t.getUserId()))
+                .map(r -> {
+                    var prev = r.previous();
+                    String access = sign(prev.getUserId(), prev.getEmail(), prev.getRoles());
+                    String role = prev.getRoles().iterator().next();
+                    return new AuthResponse(access, role, prev.getUserId(), prev.getEmail(), r.nextToken());
+                });
+    }
+
+    public void logout(String refreshToken) {
+        refreshTokens.revoke(refreshToken);
+    }
 
+    private AuthResponse issue(User u) {
+        Set<String> roles = u.getRoles().stream().map(Role::name).collect(Collectors.toSet());
         String role = u.getRoles().iterator().next().name();
-        String token = jwt.create(Map.of(
-                "sub", u.getId(),
-                "email", u.getEmail(),
-                "roles", u.getRoles()
-        ));
-        return new AuthResponse(token, role, u.getId(), u.getEmail());
+        String access = sign(u.getId(), u.getEmail(), roles);
+        String refresh = refreshTokens.issue(u.getId(), u.getEmail(), roles);
+        return new AuthResponse(access, role, u.getId(), u.getEmail(), refresh);
+    }
+
+    private String sign(String uid, String email, Set<String> roles) {
+        try {
+            return jwt.create(Map.of(
+                    "sub", uid,
+                    "email", email,
+                    "roles", roles
+            ));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not sign token", e);
+        }
+    }
+
+    public static class NotReadyException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public NotReadyException(long retryAfterSeconds) {
+            super("Starting up, please retry shortly");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() { return retryAfterSeconds; }
     }
 }
@@ -0,0 +1,78 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.User;
+import com.carenet.api.model.profile.CareGiverProfile;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Caregiver profiles used to be keyed by the JWT subject (the user id) instead of the email.
+ * A startup sweep re-keys them in bulk; until it has reached a profile, {@link #adopt} re-keys
+ * it on the owner's first /me request, so the owner never gets a fresh empty profile while the
+ * real one is left behind under the old key.
+ */
+@Service
+public class CareGiverKeyMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(CareGiverKeyMigration.class);
+
+    private final MongoTemplate mongo;
+
+    public CareGiverKeyMigration(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    /**
+     * Call when no profile is stored under {@code email}: moves the profile still keyed by
+     * {@code uid} (if any) to the email key and returns it.
+     */
+    public Optional<CareGiverProfile> adopt(String uid, String email) {
+        if (uid == null || email == null) return Optional.empty();
+        try {
+            return Optional.ofNullable(mongo.findAndModify(Query.query(Criteria.where("email").is(uid)),
+                    Update.update("email", email), FindAndModifyOptions.options().returnNew(true),
+                    CareGiverProfile.class));
+        } catch (DuplicateKeyException ex) {
+            // a profile was created under the email meanwhile; leave the old one for the sweep to report
+            return Optional.empty();
+        }
+    }
+
+    // idempotent; async so an unreachable Mongo only defers it to the next start (adopt covers the gap)
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    void sweep() {
+        try {
+            Query q = Query.query(Criteria.where("email").not().regex("@"));
+            q.fields().include("email");
+            for (CareGiverProfile p : mongo.find(q, CareGiverProfile.class)) {
+                if (p.getEmail() == null || !ObjectId.isValid(p.getEmail())) continue;
+                User u = mongo.findById(p.getEmail(), User.class);
+                if (u == null || u.getEmail() == null) continue;
+                // email is unique: never clobber a profile already stored under the real key
+                if (mongo.exists(Query.query(Criteria.where("email").is(u.getEmail())), CareGiverProfile.class)) {
+                    log.warn("Caregiver profile {} is still keyed by user {}: {} already has a profile", p.getId(),
+                            p.getEmail(), u.getEmail());
+                    continue;
+                }
+                adopt(p.getEmail(), u.getEmail());
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Caregiver key repair skipped: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.profile.CareGiverCardDto;
+import com.carenet.api.model.profile.CareGiverProfile;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over caregiver profiles (skills, languages, tagline, about).
+ * Built once after startup and updated whenever a profile is saved, so searches never
+ * touch Mongo. Terms are kept in a sorted map for prefix expansion.
+ *
+ * Nodes that do not see the saves (the reactive serving mode) set app.search.sync-enabled:
+ * every sync-millis the index reads _id + version of all profiles, re-reads the ones whose
+ * version changed and drops the deleted ones.
+ *
+ * Ranking: every query token must match (exactly or as a prefix); a document's score is
+ * the sum over tokens of fieldWeight * idf, prefix-only matches count half.
+ */
+@Service
+public class CareGiverSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CareGiverSearchIndex.class);
+
+    static final float W_SKILL = 3f, W_LANGUAGE = 2f, W_TAGLINE = 1.5f, W_ABOUT = 1f;
+    static final float PREFIX_FACTOR = 0.5f;
+    static final int MAX_PREFIX_TERMS = 64;     // cap expansion of very short prefixes
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_RESULT_WINDOW = 10_000;   // deepest hit a page may reach, (page + 1) * size
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with", "i", "my", "me", "we", "our", "you");
+
+    static final int SYNC_BATCH = 500;
+
+    private final MongoTemplate mongo;
+    private final boolean syncEnabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // doc ordinal -> doc (null once removed); ordinals are never reused
+    private final ArrayList<Doc> docs = new ArrayList<>();
+    private final Map<String, Integer> ordinalById = new HashMap<>();
+    // term -> (doc ordinal -> field weight)
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private int liveDocs;
+    private volatile boolean loaded;
+
+    public CareGiverSearchIndex(MongoTemplate mongo,
+                                @Value("${app.search.sync-enabled:false}") boolean syncEnabled) {
+        this.mongo = mongo;
+        this.syncEnabled = syncEnabled;
+    }
+
+    /* ========= maintenance ========= */
+
+    // first run right after the context starts, on the scheduler thread so startup does not
+    // wait for Mongo; repeats until the initial load has succeeded, then applies deltas if enabled
+    @Scheduled(fixedDelayString = "${app.search.sync-millis:60000}")
+    void sync() {
+        if (loaded && !syncEnabled) return;
+        try {
+            if (loaded) {
+                syncDelta();
+            } else {
+                load();
+                loaded = true;
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Caregiver search index {} failed: {}", loaded ? "sync" : "load", ex.getMessage());
+        }
+    }
+
+    void load() {
+        Query q = new Query();
+        q.fields().exclude("workHistory").exclude("certifications");
+        int n = 0;
+        try (Stream<CareGiverProfile> all = mongo.stream(q, CareGiverProfile.class)) {
+            for (Iterator<CareGiverProfile> it = all.iterator(); it.hasNext(); n++) upsert(it.next());
+        }
+        log.info("Caregiver search index loaded: {} profiles, {} terms", n, termCount());
+    }
+
+    // _id + version of every profile (small projection), then a full read of only the changed ones
+    void syncDelta() {
+        Map<String, Long> stored = new HashMap<>();
+        for (Document d : mongo.getCollection(mongo.getCollectionName(CareGiverProfile.class))
+                .find().projection(new Document("version", 1))) {
+            stored.put(d.get("_id").toString(), d.get("version") instanceof Number v ? v.longValue() : -1L);
+        }
+
+        List<String> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            stored.forEach((id, v) -> {
+                Integer ord = ordinalById.get(id);
+                if (ord == null || docs.get(ord).version != v) changed.add(id);
+            });
+            // a profile created here after the scan is dropped and re-added by the next sync
+            for (String id : ordinalById.keySet()) if (!stored.containsKey(id)) deleted.add(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (int i = 0; i < changed.size(); i += SYNC_BATCH) {
+            Query q = Query.query(Criteria.where("_id").in(changed.subList(i, Math.min(i + SYNC_BATCH, changed.size()))));
+            q.fields().exclude("workHistory").exclude("certifications");
+            mongo.find(q, CareGiverProfile.class).forEach(this::upsert);
+        }
+        deleted.forEach(this::remove);
+        if (!changed.isEmpty() || !deleted.isEmpty()) {
+            log.debug("Caregiver search index synced: {} changed, {} deleted", changed.size(), deleted.size());
+        }
+    }
+
+    /** Add or replace a profile. Call after every save. */
+    public void upsert(CareGiverProfile p) {
+        if (p == null || p.getId() == null) return;
+        Map<String, Float> terms = terms(p);
+        Set<String> skillKeys = new HashSet<>();
+        if (p.getSkills() != null) p.getSkills().forEach(s -> { if (s != null) skillKeys.add(key(s)); });
+        Set<String> langKeys = new HashSet<>();
+        if (p.getLanguages() != null) p.getLanguages().forEach(l -> { if (l != null && l.getLang() != null) langKeys.add(key(l.getLang())); });
+        CareGiverCardDto card = new CareGiverCardDto(p.getId(), p.getUsername(), p.getAvatarUrl(),
+                p.getTagline(), p.getSkills(), p.getLanguages());
+
+        long version = p.getVersion() == null ? -1L : p.getVersion();
+
+        lock.writeLock().lock();
+        try {
+            // a sync may race with a local save; never go back to an older version
+            Integer existing = ordinalById.get(p.getId());
+            if (existing != null && docs.get(existing).version > version) return;
+            removeLocked(p.getId());
+            int ord = docs.size();
+            docs.add(new Doc(card, terms, skillKeys, langKeys, version));
+            ordinalById.put(p.getId(), ord);
+            liveDocs++;
+            terms.forEach((t, w) -> postings.computeIfAbsent(t, k -> new HashMap<>()).put(ord, w));
+            if (docs.size() - liveDocs > Math.max(1024, liveDocs)) compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ========= query ========= */
+
+    public record Hit(CareGiverCardDto card, float score) {}
+
+    public record Result(long total, List<Hit> items, Map<String, Integer> skills, Map<String, Integer> languages) {}
+
+    /**
+     * @param text     free text; empty matches every profile (filters still apply)
+     * @param skill    optional exact skill filter (case-insensitive)
+     * @param language optional exact language filter (case-insensitive)
+     */
+    public Result search(String text, String skill, String language, int page, int size) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        page = Math.max(0, page);
+        List<String> tokens = tokenize(text);
+        String skillKey = skill == null || skill.isBlank() ? null : key(skill);
+        String langKey = language == null || language.isBlank() ? null : key(language);
+
+        lock.readLock().lock();
+        try {
+            // filters + facet counts over the full match set, top-k heap for the page; pages past
+            // the result window keep the totals and facets but return no items
+            long window = (long) (page + 1) * size;
+            int k = window > MAX_RESULT_WINDOW ? 0 : (int) window;
+            Collector c = new Collector(skillKey, langKey, k);
+            if (tokens.isEmpty()) {
+                // empty query: walk the live docs, no score map
+                for (int ord = 0; ord < docs.size(); ord++) c.offer(ord, 0f);
+            } else {
+                matchAllTokens(tokens).forEach(c::offer);
+            }
+
+            List<Map.Entry<Integer, Float>> ranked = new ArrayList<>(c.top);
+            ranked.sort(HIT_ORDER.reversed());
+            List<Hit> items = ranked.stream()
+                    .skip((long) page * size)
+                    .map(e -> new Hit(docs.get(e.getKey()).card, e.getValue()))
+                    .toList();
+            return new Result(c.total, items, sortedByCount(c.skillFacets), sortedByCount(c.langFacets));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try { return liveDocs; } finally { lock.readLock().unlock(); }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try { return postings.size(); } finally { lock.readLock().unlock(); }
+    }
+
+    /* ========= helpers ========= */
+
+    // lowest score first so the heap evicts the weakest hit; ties broken by ordinal for stable pages
+    private static final Comparator<Map.Entry<Integer, Float>> HIT_ORDER =
+            Map.Entry.<Integer, Float>comparingByValue()
+                    .thenComparing(Map.Entry.<Integer, Float>comparingByKey(Comparator.reverseOrder()));
+
+    private record Doc(CareGiverCardDto card, Map<String, Float> terms, Set<String> skillKeys, Set<String> langKeys,
+                       long version) {}
+
+    // one search's filter, facet counts and top-k heap; used under the read lock
+    private final class Collector {
+        final String skillKey, langKey;
+        final int k;
+        final PriorityQueue<Map.Entry<Integer, Float>> top;
+        final Map<String, Integer> skillFacets = new HashMap<>();
+        final Map<String, Integer> langFacets = new HashMap<>();
+        long total;
+
+        Collector(String skillKey, String langKey, int k) {
+            this.skillKey = skillKey;
+            this.langKey = langKey;
+            this.k = k;
+            this.top = new PriorityQueue<>(Math.min(k, docs.size()) + 1, HIT_ORDER);
+        }
+
+        void offer(int ord, float score) {
+            Doc d = docs.get(ord);
+            if (d == null) return;
+            if (skillKey != null && !d.skillKeys.contains(skillKey)) return;
+            if (langKey != null && !d.langKeys.contains(langKey)) return;
+            total++;
+            if (d.card.skills() != null) d.card.skills().forEach(s -> { if (s != null) skillFacets.merge(s, 1, Integer::sum); });
+            if (d.card.languages() != null) d.card.languages().forEach(l -> { if (l != null && l.getLang() != null) langFacets.merge(l.getLang(), 1, Integer::sum); });
+            top.offer(Map.entry(ord, score));
+            if (top.size() > k) top.poll();
+        }
+    }
+
+    private Map<Integer, Float> matchAllTokens(List<String> tokens) {
+        Map<Integer, Float> acc = null;
+        for (String tok : tokens) {
+            Map<Integer, Float> tokScores = scoreToken(tok);
+            if (acc == null) {
+                acc = tokScores;
+            } else {
+                Map<Integer, Float> next = new HashMap<>();
+                for (Map.Entry<Integer, Float> e : acc.entrySet()) {
+                    Float s = tokScores.get(e.getKey());
+                    if (s != null) next.put(e.getKey(), e.getValue() + s);
+                }
+                acc = next;
+            }
+            if (acc.isEmpty()) break;
+        }
+        return acc == null ? Map.of() : acc;
+    }
+
+    // best score per doc for one token: exact term, else best prefix-expanded term
+    private Map<Integer, Float> scoreToken(String tok) {
+        Map<Integer, Float> out = new HashMap<>();
+        int expanded = 0;
+        for (Map.Entry<String, Map<Integer, Float>> t : postings.subMap(tok, true, tok + Character.MAX_VALUE, false).entrySet()) {
+            boolean exact = t.getKey().equals(tok);
+            if (!exact && ++expanded > MAX_PREFIX_TERMS) break;
+            float idf = (float) Math.log(1.0 + (double) liveDocs / t.getValue().size());
+            float factor = exact ? 1f : PREFIX_FACTOR;
+            for (Map.Entry<Integer, Float> p : t.getValue().entrySet()) {
+                out.merge(p.getKey(), p.getValue() * idf * factor, (a, b) -> a >= b ? a : b);
+            }
+        }
+        return out;
+    }
+
+    private void removeLocked(String id) {
+        Integer ord = ordinalById.remove(id);
+        if (ord == null) return;
+        Doc old = docs.set(ord, null);
+        liveDocs--;
+        for (String t : old.terms.keySet()) {
+            Map<Integer, Float> p = postings.get(t);
+            if (p == null) continue;
+            p.remove(ord);
+            if (p.isEmpty()) postings.remove(t);
+        }
+    }
+
+    // drop tombstones left by updates: renumber live docs and rebuild postings
+    private void compactLocked() {
+        List<Doc> live = docs.stream().filter(Objects::nonNull).toList();
+        docs.clear();
+        ordinalById.clear();
+        postings.clear();
+        for (Doc d : live) {
+            int ord = docs.size();
+            docs.add(d);
+            ordinalById.put(d.card.id(), ord);
+            d.terms.forEach((t, w) -> postings.computeIfAbsent(t, k -> new HashMap<>()).put(ord, w));
+        }
+    }
+
+    // term -> summed field weight for one profile
+    private static Map<String, Float> terms(CareGiverProfile p) {
+        Map<String, Float> t = new HashMap<>();
+        if (p.getSkills() != null) p.getSkills().forEach(s -> add(t, s, W_SKILL));
+        if (p.getLanguages() != null) p.getLanguages().forEach(l -> { if (l != null) add(t, l.getLang(), W_LANGUAGE); });
+        add(t, p.getTagline(), W_TAGLINE);
+        add(t, p.getAbout(), W_ABOUT);
+        return t;
+    }
+
+    private static void add(Map<String, Float> t, String text, float weight) {
+        for (String tok : tokenize(text)) t.merge(tok, weight, Float::sum);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> out = new ArrayList<>();
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (raw.length() < 2 || STOPWORDS.contains(raw)) continue;
+            out.add(raw);
+        }
+        return out;
+    }
+
+    private static String key(String s) {
+        return s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Integer> sortedByCount(Map<String, Integer> counts) {
+        Map<String, Integer> out = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> out.put(e.getKey(), e.getValue()));
+        return out;
+    }
+}
@@ -0,0 +1,306 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.feedback.Feedback;
+import com.carenet.api.model.feedback.FeedbackBucket;
+import com.carenet.api.model.feedback.FeedbackRollup;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Maintains {@link FeedbackRollup} (all-time) and the per-day / per-week
+ * {@link FeedbackBucket}s incrementally with atomic $inc upserts.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedbackRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedbackRollupService.class);
+
+    private final MongoTemplate mongo;
+
+    private volatile boolean seeded;
+
+    /** Star bucket for a feedback: average of quality/support rounded half-up, clamped to 1..5. */
+    public static int star(int quality, int support) {
+        int star = (int) Math.round((quality + support) / 2.0);
+        return Math.max(1, Math.min(5, star));
+    }
+
+    public void onCreate(Feedback f) {
+        Update u = new Update()
+                .inc("total", 1)
+                .inc("stars." + star(f.getQuality(), f.getSupport()), 1)
+                .inc("qualitySum", f.getQuality())
+                .inc("supportSum", f.getSupport());
+        apply(u);
+        applyBuckets(List.of(f), 1);
+    }
+
+    /** Batched create (write-behind): one $inc upsert for the whole batch. */
+    public void onCreateAll(List<Feedback> batch) {
+        if (batch.isEmpty()) return;
+        Update u = new Update().inc("total", batch.size());
+        Map<Integer, Integer> stars = new HashMap<>();
+        long quality = 0, support = 0;
+        for (Feedback f : batch) {
+            stars.merge(star(f.getQuality(), f.getSupport()), 1, Integer::sum);
+            quality += f.getQuality();
+            support += f.getSupport();
+        }
+        stars.forEach((star, n) -> u.inc("stars." + star, n));
+        apply(u.inc("qualitySum", quality).inc("supportSum", support));
+        applyBuckets(batch, 1);
+    }
+
+    /** {@code before} is the document as it was replaced (findAndModify pre-image). */
+    public void onUpdate(Feedback before, Feedback updated) {
+        int oldStar = star(before.getQuality(), before.getSupport());
+        int newStar = star(updated.getQuality(), updated.getSupport());
+        Update u = new Update()
+                .inc("qualitySum", updated.getQuality() - before.getQuality())
+                .inc("supportSum", updated.getSupport() - before.getSupport());
+        if (oldStar != newStar) {
+            u.inc("stars." + oldStar, -1).inc("stars." + newStar, 1);
+        }
+        apply(u);
+
+        // same bucket (createdAt does not change): old values out, new values in
+        Map<String, Delta> deltas = new HashMap<>();
+        collect(deltas, before, -1);
+        collect(deltas, updated, 1);
+        write(deltas);
+    }
+
+    public void onDelete(Feedback f) {
+        Update u = new Update()
+                .inc("total", -1)
+                .inc("stars." + star(f.getQuality(), f.getSupport()), -1)
+                .inc("qualitySum", -f.getQuality())
+                .inc("supportSum", -f.getSupport());
+        apply(u);
+        applyBuckets(List.of(f), -1);
+    }
+
+    // seed the counters from raw feedback until a full rebuild has completed. The markers are
+    // set only by rebuild() / rebuildBuckets(), never by the $inc upserts, so a write that
+    // lands first (or a seed that failed while Mongo was down) does not suppress the seed
+    @Scheduled(fixedDelayString = "${app.feedback.seed-retry-millis:30000}")
+    void seedIfMissing() {
+        if (seeded) return;
+        try {
+            FeedbackRollup r = mongo.findById(FeedbackRollup.GLOBAL, FeedbackRollup.class);
+            if (r == null || r.getRebuiltAt() == null) {
+                rebuild();
+            } else if (r.getBucketsRebuiltAt() == null) {
+                rebuildBuckets();
+            }
+            seeded = true;
+        } catch (DataAccessException ex) {
+            log.warn("Feedback rollup not seeded, will retry: {}", ex.getMessage());
+        }
+    }
+
+    /** Current rollup (single document read); zeroes if nothing recorded yet. */
+    public FeedbackRollup current() {
+        FeedbackRollup r = mongo.findById(FeedbackRollup.GLOBAL, FeedbackRollup.class);
+        if (r == null) {
+            r = new FeedbackRollup();
+            r.setId(FeedbackRollup.GLOBAL);
+        }
+        if (r.getStars() == null) r.setStars(new HashMap<>());
+        return r;
+    }
+
+    /**
+     * Recompute the rollup from raw feedback with one aggregation and replace it.
+     * Writes racing with the rebuild may be lost from the counters; run it off-peak.
+     */
+    public FeedbackRollup rebuild() {
+        // star = floor((quality + support + 1) / 2) == Java's half-up rounding for ints
+        // ($round would be half-to-even), then clamp to 1..5
+        Document starExpr = new Document("$max", List.of(1, new Document("$min", List.of(5,
+                new Document("$floor", new Document("$divide", List.of(
+                        new Document("$add", List.of("$quality", "$support", 1)), 2)))))));
+        List<Document> pipeline = List.of(
+                new Document("$group", new Document("_id", starExpr)
+                        .append("n", new Document("$sum", 1))
+                        .append("q", new Document("$sum", "$quality"))
+                        .append("s", new Document("$sum", "$support"))));
+
+        FeedbackRollup r = new FeedbackRollup();
+        r.setId(FeedbackRollup.GLOBAL);
+        Map<String, Long> stars = new HashMap<>();
+        for (Document d : mongo.getCollection(mongo.getCollectionName(Feedback.class)).aggregate(pipeline)) {
+            long n = ((Number) d.get("n")).longValue();
+            stars.put(String.valueOf(((Number) d.get("_id")).intValue()), n);
+            r.setTotal(r.getTotal() + n);
+            r.setQualitySum(r.getQualitySum() + ((Number) d.get("q")).longValue());
+            r.setSupportSum(r.getSupportSum() + ((Number) d.get("s")).longValue());
+        }
+        r.setStars(stars);
+        r.setRebuiltAt(Instant.now());
+
+        mongo.save(r);
+        rebuildBuckets();
+        return r;
+    }
+
+    /** Recompute all day/week buckets with one pass over raw feedback (same caveat as rebuild). */
+    public void rebuildBuckets() {
+        Query q = new Query();
+        q.fields().include("quality", "support", "useful", "missing", "createdAt");
+        Map<String, Delta> deltas = new HashMap<>();
+        try (Stream<Feedback> all = mongo.stream(q, Feedback.class)) {
+            all.forEach(f -> collect(deltas, f, 1));
+        }
+        mongo.remove(new Query(), FeedbackBucket.class);
+        write(deltas);
+        mongo.upsert(Query.query(Criteria.where("_id").is(FeedbackRollup.GLOBAL)),
+                new Update().set("bucketsRebuiltAt", Instant.now()), FeedbackRollup.class);
+    }
+
+    /* ========= trend reads ========= */
+
+    /**
+     * Buckets of one period ({@link FeedbackBucket#DAY} / {@link FeedbackBucket#WEEK}) overlapping
+     * [from, to), oldest first. Windows snap outward to whole buckets; empty buckets are absent.
+     */
+    public List<FeedbackBucket> buckets(String period, Instant from, Instant to) {
+        Query q = Query.query(Criteria.where("_id")
+                        .gte(bucketId(period, bucketStart(period, from)))
+                        .lte(bucketId(period, bucketStart(period, to.minusNanos(1)))))
+                .with(Sort.by("_id"));
+        return mongo.find(q, FeedbackBucket.class);
+    }
+
+    /** The {@code k} most frequent features over the given buckets (unescaped), most frequent first. */
+    public static List<Map.Entry<String, Long>> topK(Collection<FeedbackBucket> buckets,
+                                                     Function<FeedbackBucket, Map<String, Long>> terms, int k) {
+        Map<String, Long> merged = new HashMap<>();
+        for (FeedbackBucket b : buckets) {
+            Map<String, Long> m = terms.apply(b);
+            if (m != null) m.forEach((term, n) -> merged.merge(unescapeTerm(term), n, Long::sum));
+        }
+        return merged.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.<String, Long>comparingByKey()))
+                .limit(Math.max(0, k))
+                .toList();
+    }
+
+    /** First day of the UTC day / ISO week (Monday) containing {@code at}. */
+    public static LocalDate bucketStart(String period, Instant at) {
+        LocalDate day = LocalDate.ofInstant(at, ZoneOffset.UTC);
+        return FeedbackBucket.WEEK.equals(period) ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+
+    public static String bucketId(String period, LocalDate start) {
+        return period + start;
+    }
+
+    private void apply(Update u) {
+        mongo.upsert(Query.query(Criteria.where("_id").is(FeedbackRollup.GLOBAL)), u, FeedbackRollup.class);
+    }
+
+    /* ========= buckets ========= */
+
+    private void applyBuckets(Collection<Feedback> feedback, int sign) {
+        Map<String, Delta> deltas = new HashMap<>();
+        for (Feedback f : feedback) collect(deltas, f, sign);
+        write(deltas);
+    }
+
+    // a feedback counts in its day and its week
+    private static void collect(Map<String, Delta> deltas, Feedback f, int sign) {
+        Instant at = f.getCreatedAt() != null ? f.getCreatedAt() : Instant.now();
+        for (String period : List.of(FeedbackBucket.DAY, FeedbackBucket.WEEK)) {
+            LocalDate start = bucketStart(period, at);
+            deltas.computeIfAbsent(bucketId(period, start), id -> new Delta(start)).add(f, sign);
+        }
+    }
+
+    // one upsert per touched bucket, in one unordered bulk write
+    private void write(Map<String, Delta> deltas) {
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, FeedbackBucket.class);
+        int n = 0;
+        for (Map.Entry<String, Delta> e : deltas.entrySet()) {
+            Update u = e.getValue().toUpdate();
+            if (u == null) continue;
+            ops.upsert(Query.query(Criteria.where("_id").is(e.getKey())), u);
+            n++;
+        }
+        if (n > 0) ops.execute();
+    }
+
+    // field names cannot contain '.' or start with '$'
+    static String escapeTerm(String term) {
+        return term.replace("%", "%25").replace(".", "%2E").replace("$", "%24");
+    }
+
+    static String unescapeTerm(String key) {
+        return key.replace("%2E", ".").replace("%24", "$").replace("%25", "%");
+    }
+
+    /** $inc amounts for one bucket, merged so a batch writes each field once. */
+    private static final class Delta {
+        private final LocalDate start;
+        private final Map<String, Long> incs = new HashMap<>();   // field path -> amount
+
+        Delta(LocalDate start) {
+            this.start = start;
+        }
+
+        void add(Feedback f, int sign) {
+            incs.merge("total", (long) sign, Long::sum);
+            incs.merge("stars." + star(f.getQuality(), f.getSupport()), (long) sign, Long::sum);
+            incs.merge("qualitySum", (long) sign * f.getQuality(), Long::sum);
+            incs.merge("supportSum", (long) sign * f.getSupport(), Long::sum);
+            terms("useful.", f.getUseful(), sign);
+            terms("missing.", f.getMissing(), sign);
+        }
+
+        private void terms(String prefix, List<String> terms, int sign) {
+            if (terms == null) return;
+            for (String t : terms) {
+                if (t != null && !t.isBlank()) incs.merge(prefix + escapeTerm(t.trim()), (long) sign, Long::sum);
+            }
+        }
+
+        /** null when everything cancelled out (e.g. an edit that changed nothing counted). */
+        Update toUpdate() {
+            Update u = new Update();
+            boolean any = false;
+            for (Map.Entry<String, Long> e : incs.entrySet()) {
+                if (e.getValue() == 0) continue;
+                u.inc(e.getKey(), e.getValue());
+                any = true;
+            }
+            return any ? u.setOnInsert("start", start.atStartOfDay(ZoneOffset.UTC).toInstant()) : null;
+        }
+    }
+}
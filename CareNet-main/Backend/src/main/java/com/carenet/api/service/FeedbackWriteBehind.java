@@ -0,0 +1,207 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.feedback.Feedback;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind for POST /api/feedback (app.feedback.write-behind.enabled).
+ * Validated feedback gets its ObjectId here, goes into a bounded queue and the request
+ * returns 202 right away; one flusher thread writes the queue with unordered insertMany
+ * once batch-size documents are waiting or flush-millis after the first one arrived,
+ * and applies the rollup counters once per batch.
+ *
+ * - full queue: {@link QueueFullException} (503 + Retry-After), nothing is dropped silently
+ * - failed batch: retried max-attempts times; duplicate-key errors on a retry mean the
+ *   earlier attempt did land and count as written
+ * - shutdown: stops after the web server (lower lifecycle phase) and drains the queue
+ *   before the Mongo client is closed
+ *
+ * A GET of the returned id can 404 for up to flush-millis.
+ */
+@Service
+public class FeedbackWriteBehind implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedbackWriteBehind.class);
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongo;
+    private final FeedbackRollupService rollups;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushNanos;
+    private final int maxAttempts;
+    private final long retryAfterSeconds;
+    private final BlockingQueue<Feedback> queue;
+
+    private final DistributionSummary batchSizes;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public FeedbackWriteBehind(MongoTemplate mongo, FeedbackRollupService rollups, MeterRegistry meters,
+                               @Value("${app.feedback.write-behind.enabled:false}") boolean enabled,
+                               @Value("${app.feedback.write-behind.batch-size:200}") int batchSize,
+                               @Value("${app.feedback.write-behind.flush-millis:50}") long flushMillis,
+                               @Value("${app.feedback.write-behind.queue-capacity:10000}") int queueCapacity,
+                               @Value("${app.feedback.write-behind.max-attempts:5}") int maxAttempts,
+                               @Value("${app.feedback.write-behind.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.mongo = mongo;
+        this.rollups = rollups;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        this.batchSizes = DistributionSummary.builder("carenet.feedback.write-behind.batch")
+                .description("Feedback documents per insertMany")
+                .register(meters);
+        this.dropped = Counter.builder("carenet.feedback.write-behind.dropped")
+                .description("Feedback given up on after max-attempts failed inserts")
+                .register(meters);
+        Gauge.builder("carenet.feedback.write-behind.queue.depth", queue, BlockingQueue::size).register(meters);
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Assign id + createdAt and queue for the next batch. Throws QueueFullException if not admitted. */
+    public Feedback submit(Feedback f) {
+        f.setId(new ObjectId().toHexString());
+        f.setCreatedAt(Instant.now());
+        if (!running || !queue.offer(f)) throw new QueueFullException(retryAfterSeconds);
+        return f;
+    }
+
+    /* ========= lifecycle ========= */
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        flusher = new Thread(this::run, "feedback-write-behind");
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) return;
+        // no new submissions; the flusher empties the queue and exits. Not interrupted: that
+        // would abort an insertMany in flight
+        running = false;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+    }
+
+    @Override
+    public boolean isRunning() { return running; }
+
+    // stop after the web server (graceful shutdown) so no request can queue behind the drain
+    @Override
+    public int getPhase() { return SmartLifecycle.DEFAULT_PHASE - 4096; }
+
+    /* ========= flusher ========= */
+
+    private void run() {
+        List<Feedback> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Feedback first = running ? queue.poll(100, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + flushNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long left = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || left <= 0 || !running) break;
+                    Feedback next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;      // keep what was collected, drain the rest
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        log.info("Feedback write-behind drained");
+    }
+
+    private void flush(List<Feedback> batch) {
+        batchSizes.record(batch.size());
+        List<Feedback> pending = batch;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Feedback.class).insert(pending).execute();
+                rollups.onCreateAll(pending);
+                return;
+            } catch (BulkOperationException ex) {
+                Set<Integer> failed = ex.getErrors().stream()
+                        .filter(e -> e.getCode() != DUPLICATE_KEY)
+                        .map(BulkWriteError::getIndex)
+                        .collect(Collectors.toSet());
+                List<Feedback> written = new ArrayList<>();
+                List<Feedback> retry = new ArrayList<>();
+                for (int i = 0; i < pending.size(); i++) (failed.contains(i) ? retry : written).add(pending.get(i));
+                rollups.onCreateAll(written);
+                pending = retry;
+                if (pending.isEmpty()) return;
+            } catch (DataAccessException ex) {
+                log.warn("Feedback batch of {} failed (attempt {}/{}): {}", pending.size(), attempt, maxAttempts, ex.getMessage());
+            }
+            if (attempt >= maxAttempts) {
+                dropped.increment(pending.size());
+                log.error("Dropping {} feedback after {} attempts: {}", pending.size(), maxAttempts,
+                        pending.stream().map(Feedback::getId).toList());
+                return;
+            }
+            try {
+                Thread.sleep(100L * attempt);
+            } catch (InterruptedException e) {
+                // retry without the pause rather than lose the batch
+            }
+        }
+    }
+
+    /** Queue is full (or shutting down); caller should retry after the given delay. */
+    public static class QueueFullException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public QueueFullException(long retryAfterSeconds) {
+            super("Too many submissions, please retry shortly");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    }
+}
@@ -0,0 +1,83 @@
+package com.carenet.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local place-name lookup (name,lat,lng CSV) used to turn free-text locations such as
+ * "25 km within Colombo" into a point + radius.
+ */
+@Component
+public class Gazetteer {
+
+    private static final Pattern RADIUS = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)\\s*(km|kms|kilomet(?:er|re)s?|mi|miles?)\\b", Pattern.CASE_INSENSITIVE);
+    private static final double KM_PER_MILE = 1.609344;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // longest names first so "Mount Lavinia" wins over a shorter overlapping entry
+    private final List<Place> places;
+    private final List<String> keys;   // normalized names, same order as places
+
+    public record Place(String name, double lat, double lng) {
+        public GeoJsonPoint point() { return new GeoJsonPoint(lng, lat); }   // GeoJSON order: x=lng, y=lat
+    }
+
+    public Gazetteer(@Value("${app.geo.gazetteer:classpath:gazetteer/places.csv}") Resource file) {
+        List<Place> loaded = new ArrayList<>();
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] c = line.split(",");
+                if (c.length < 3) continue;
+                loaded.add(new Place(c[0].trim(), Double.parseDouble(c[1].trim()), Double.parseDouble(c[2].trim())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read gazetteer " + file, e);
+        }
+        loaded.sort(Comparator.comparingInt((Place p) -> p.name().length()).reversed());
+        this.places = List.copyOf(loaded);
+        this.keys = places.stream().map(p -> normalize(p.name())).toList();
+    }
+
+    /**
+     * First (longest) gazetteer place mentioned in the text as whole words, so "Galle" does
+     * not match inside "Gallery" and "Dehiwala-Mount Lavinia" matches "dehiwala mount lavinia".
+     */
+    public Optional<Place> find(String text) {
+        if (text == null || text.isBlank()) return Optional.empty();
+        String t = normalize(text);
+        for (int i = 0; i < places.size(); i++) {
+            if (!keys.get(i).isBlank() && t.contains(keys.get(i))) return Optional.of(places.get(i));
+        }
+        return Optional.empty();
+    }
+
+    // lower-cased words separated (and surrounded) by single spaces: " mount lavinia "
+    static String normalize(String s) {
+        return " " + NON_WORD.matcher(s.toLowerCase(Locale.ROOT)).replaceAll(" ").trim() + " ";
+    }
+
+    /** Radius in km from strings like "25 km", "10 miles"; empty if none given. */
+    public static Optional<Double> radiusKm(String text) {
+        if (text == null) return Optional.empty();
+        Matcher m = RADIUS.matcher(text);
+        if (!m.find()) return Optional.empty();
+        double v = Double.parseDouble(m.group(1));
+        return Optional.of(m.group(2).toLowerCase(Locale.ROOT).startsWith("mi") ? v * KM_PER_MILE : v);
+    }
+
+    public int size() { return places.size(); }
+}
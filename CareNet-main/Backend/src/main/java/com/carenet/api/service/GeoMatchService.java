@@ -0,0 +1,152 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.profile.CareGiverCardDto;
+import com.carenet.api.model.profile.CareGiverProfile;
+import com.carenet.api.model.profile.CareSeekerProfile;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * "Who can serve this seeker": one $geoNear over the 2dsphere index on
+ * caregiver_profiles.serviceLocation, keeping only caregivers whose own
+ * service radius reaches the seeker, nearest first.
+ *
+ * The 2dsphere indexes are declared with @GeoSpatialIndexed on the profiles and built
+ * by MongoIndexBootstrapper; $geoNear fails outright until they exist.
+ */
+@Service
+public class GeoMatchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    static final int BACKFILL_BATCH = 500;
+
+    private final MongoTemplate mongo;
+    private final Gazetteer gazetteer;
+    private final double defaultRadiusKm;
+    private final double maxRadiusKm;
+
+    public GeoMatchService(MongoTemplate mongo, Gazetteer gazetteer,
+                           @Value("${app.geo.default-radius-km:10}") double defaultRadiusKm,
+                           @Value("${app.geo.max-radius-km:100}") double maxRadiusKm) {
+        this.mongo = mongo;
+        this.gazetteer = gazetteer;
+        this.defaultRadiusKm = defaultRadiusKm;
+        this.maxRadiusKm = maxRadiusKm;
+    }
+
+    public record Nearby(CareGiverCardDto card, double distanceKm, double serviceRadiusKm) {}
+
+    /** Caregivers whose service area covers {@code point}, nearest first. */
+    public List<Nearby> caregiversServing(GeoJsonPoint point, int page, int size) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        page = Math.max(0, page);
+
+        Document radiusM = new Document("$multiply", List.of(
+                new Document("$ifNull", List.of("$serviceRadiusKm", defaultRadiusKm)), 1000));
+        List<Document> pipeline = List.of(
+                new Document("$geoNear", new Document("near", new Document("type", "Point")
+                                .append("coordinates", List.of(point.getX(), point.getY())))
+                        .append("key", "serviceLocation")
+                        .append("distanceField", "distanceM")
+                        .append("spherical", true)
+                        .append("maxDistance", maxRadiusKm * 1000)),
+                new Document("$match", new Document("$expr", new Document("$lte", List.of("$distanceM", radiusM)))),
+                new Document("$skip", (long) page * size),
+                new Document("$limit", size),
+                new Document("$project", new Document("username", 1).append("avatarUrl", 1).append("tagline", 1)
+                        .append("skills", 1).append("languages", 1).append("serviceRadiusKm", 1).append("distanceM", 1)));
+
+        List<Nearby> out = new ArrayList<>(size);
+        for (Document d : mongo.getCollection(mongo.getCollectionName(CareGiverProfile.class)).aggregate(pipeline)) {
+            CareGiverProfile p = mongo.getConverter().read(CareGiverProfile.class, d);
+            out.add(new Nearby(
+                    new CareGiverCardDto(p.getId(), p.getUsername(), p.getAvatarUrl(), p.getTagline(), p.getSkills(), p.getLanguages()),
+                    ((Number) d.get("distanceM")).doubleValue() / 1000.0,
+                    p.getServiceRadiusKm() == null ? defaultRadiusKm : p.getServiceRadiusKm()));
+        }
+        return out;
+    }
+
+    /* ========= deriving structured areas from free text ========= */
+
+    /** Fill serviceLocation / serviceRadiusKm from serviceRadius when not supplied. */
+    public void fillServiceArea(CareGiverProfile p) {
+        if (p.getServiceLocation() == null) {
+            gazetteer.find(p.getServiceRadius()).ifPresent(pl -> p.setServiceLocation(pl.point()));
+        }
+        if (p.getServiceRadiusKm() == null) {
+            Gazetteer.radiusKm(p.getServiceRadius()).ifPresent(p::setServiceRadiusKm);
+        }
+    }
+
+    /** Fill geoLocation from the free-text location when not supplied. */
+    public void fillLocation(CareSeekerProfile p) {
+        if (p.getGeoLocation() == null) {
+            gazetteer.find(p.getLocation()).ifPresent(pl -> p.setGeoLocation(pl.point()));
+        }
+    }
+
+    public record BackfillReport(long caregiversScanned, long caregiversUpdated,
+                                 long seekersScanned, long seekersUpdated) {}
+
+    /** One-off batched backfill of the structured fields for existing profiles. */
+    public BackfillReport backfill() {
+        long[] cg = {0, 0};
+        Query cq = Query.query(Criteria.where("serviceLocation").is(null).and("serviceRadius").ne(null));
+        cq.fields().include("serviceRadius").include("serviceRadiusKm");
+        try (Stream<CareGiverProfile> rows = mongo.stream(cq.cursorBatchSize(BACKFILL_BATCH), CareGiverProfile.class)) {
+            batched(rows.iterator(), CareGiverProfile.class, cg, p -> {
+                fillServiceArea(p);
+                if (p.getServiceLocation() == null) return null;
+                Update u = new Update().set("serviceLocation", p.getServiceLocation());
+                if (p.getServiceRadiusKm() != null) u.set("serviceRadiusKm", p.getServiceRadiusKm());
+                return u;
+            }, CareGiverProfile::getId);
+        }
+
+        long[] cs = {0, 0};
+        Query sq = Query.query(Criteria.where("geoLocation").is(null).and("location").ne(null));
+        sq.fields().include("location");
+        try (Stream<CareSeekerProfile> rows = mongo.stream(sq.cursorBatchSize(BACKFILL_BATCH), CareSeekerProfile.class)) {
+            batched(rows.iterator(), CareSeekerProfile.class, cs, p -> {
+                fillLocation(p);
+                return p.getGeoLocation() == null ? null : new Update().set("geoLocation", p.getGeoLocation());
+            }, CareSeekerProfile::getId);
+        }
+        return new BackfillReport(cg[0], cg[1], cs[0], cs[1]);
+    }
+
+    // counts[0] = scanned, counts[1] = updated
+    private <T> void batched(Iterator<T> it, Class<T> type, long[] counts,
+                             Function<T, Update> toUpdate, Function<T, String> id) {
+        BulkOperations ops = null;
+        int pending = 0;
+        while (it.hasNext()) {
+            T row = it.next();
+            counts[0]++;
+            Update u = toUpdate.apply(row);
+            if (u == null) continue;
+            if (ops == null) ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            ops.updateOne(Query.query(Criteria.where("_id").is(id.apply(row))), u);
+            if (++pending == BACKFILL_BATCH) {
+                counts[1] += ops.execute().getModifiedCount();
+                ops = null;
+                pending = 0;
+            }
+        }
+        if (ops != null && pending > 0) counts[1] += ops.execute().getModifiedCount();
+    }
+}
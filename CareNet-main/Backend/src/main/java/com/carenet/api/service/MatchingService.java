@@ -0,0 +1,254 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.profile.CareGiverCardDto;
+import com.carenet.api.model.profile.CareGiverProfile;
+import com.carenet.api.model.profile.CareSeekerProfile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Seeker -> caregiver recommendations kept in memory.
+ *
+ * Tags (seeker careTypes, caregiver skills) are interned to int ids so each profile is
+ * a BitSet; a pair's score is
+ *   0.7 * |careTypes ∩ skills| / |careTypes|  +  0.2 * (shares a language)  +  0.1 * min(years, 10) / 10
+ * and only pairs with at least one shared tag are kept. Each seeker has a top-K list that
+ * is patched on every profile save; the full recompute runs on a fork-join pool.
+ */
+@Service
+public class MatchingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchingService.class);
+    private static final Pattern YEARS = Pattern.compile("(\\d{1,3})");
+
+    static final double W_TAGS = 0.7, W_LANG = 0.2, W_YEARS = 0.1;
+
+    private final MongoTemplate mongo;
+    private final int k;
+
+    private final ConcurrentHashMap<String, Integer> vocab = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTagId = new AtomicInteger();
+
+    private final ConcurrentHashMap<String, Giver> givers = new ConcurrentHashMap<>();     // caregiver id -> vector
+    private final ConcurrentHashMap<String, Seeker> seekers = new ConcurrentHashMap<>();   // seeker userId -> vector
+    private final ConcurrentHashMap<String, List<Match>> topK = new ConcurrentHashMap<>(); // seeker userId -> best first
+
+    private final ForkJoinPool recomputePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    // incremental patches applied in save order, off the request thread
+    private final ExecutorService updates = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "matching-updates");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public MatchingService(MongoTemplate mongo, @Value("${app.matching.top-k:20}") int k) {
+        this.mongo = mongo;
+        this.k = Math.max(1, k);
+    }
+
+    public record Match(String caregiverId, double score) {}
+
+    public record Recommendation(CareGiverCardDto card, double score) {}
+
+    private record Giver(CareGiverCardDto card, BitSet tags, Set<String> languages, int years) {}
+
+    private record Seeker(BitSet tags, int tagCount, Set<String> languages) {}
+
+    /* ========= lifecycle ========= */
+
+    // on the updates thread: startup is not held up by Mongo, and saves made meanwhile are
+    // patched in after the initial load
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        updates.execute(this::loadWithRetry);
+    }
+
+    private void loadWithRetry() {
+        long backoff = 1000;
+        while (!updates.isShutdown()) {
+            try {
+                load();
+                return;
+            } catch (DataAccessException ex) {
+                log.warn("Matching not loaded, retrying in {} ms: {}", backoff, ex.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    return;   // shutting down
+                }
+                backoff = Math.min(backoff * 2, 30_000);
+            }
+        }
+    }
+
+    void load() {
+        Query gq = new Query();
+        gq.fields().include("username").include("avatarUrl").include("tagline")
+                .include("skills").include("languages").include("years");
+        try (Stream<CareGiverProfile> all = mongo.stream(gq, CareGiverProfile.class)) {
+            all.forEach(p -> givers.put(p.getId(), toGiver(p)));
+        }
+        Query sq = new Query();
+        sq.fields().include("userId").include("careTypes").include("languages");
+        try (Stream<CareSeekerProfile> all = mongo.stream(sq, CareSeekerProfile.class)) {
+            all.forEach(p -> { if (p.getUserId() != null) seekers.put(p.getUserId(), toSeeker(p)); });
+        }
+        long start = System.nanoTime();
+        recomputeAll();
+        log.info("Matching loaded: {} caregivers, {} seekers, {} tags, recompute {} ms",
+                givers.size(), seekers.size(), vocab.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        updates.shutdown();
+        recomputePool.shutdown();
+    }
+
+    /* ========= queries ========= */
+
+    /** Precomputed recommendations for a seeker (by user id), best first. */
+    public List<Recommendation> recommendationsFor(String seekerUserId) {
+        List<Match> matches = topK.getOrDefault(seekerUserId, List.of());
+        List<Recommendation> out = new ArrayList<>(matches.size());
+        for (Match m : matches) {
+            Giver g = givers.get(m.caregiverId());
+            if (g != null) out.add(new Recommendation(g.card(), m.score()));
+        }
+        return out;
+    }
+
+    /* ========= incremental updates ========= */
+
+    /** Seeker changed: rescore this one seeker against every caregiver. */
+    public void onSeekerSaved(CareSeekerProfile p) {
+        if (p == null || p.getUserId() == null) return;
+        Seeker s = toSeeker(p);
+        updates.execute(() -> {
+            seekers.put(p.getUserId(), s);
+            topK.put(p.getUserId(), rank(s));
+        });
+    }
+
+    /** Caregiver changed: patch every seeker's top-K with the new score for this caregiver. */
+    public void onCaregiverSaved(CareGiverProfile p) {
+        if (p == null || p.getId() == null) return;
+        Giver g = toGiver(p);
+        String id = p.getId();
+        updates.execute(() -> {
+            givers.put(id, g);
+            seekers.forEach(1_000, (uid, s) -> topK.compute(uid, (key, current) -> {
+                List<Match> list = current == null ? List.of() : current;
+                boolean wasListed = list.stream().anyMatch(m -> m.caregiverId().equals(id));
+                double score = score(s, g);
+                // a listed caregiver that got worse may be overtaken by someone outside the list
+                if (wasListed && list.size() == k && score < list.get(list.size() - 1).score()) return rank(s);
+                List<Match> next = new ArrayList<>(list.size() + 1);
+                for (Match m : list) if (!m.caregiverId().equals(id)) next.add(m);
+                if (score > 0) next.add(new Match(id, score));
+                next.sort(BEST_FIRST);
+                return List.copyOf(next.size() > k ? next.subList(0, k) : next);
+            }));
+        });
+    }
+
+    /** Full rebuild of every seeker's top-K, parallelised on the fork-join pool. */
+    public void recomputeAll() {
+        try {
+            recomputePool.submit(() -> seekers.entrySet().parallelStream()
+                    .forEach(e -> topK.put(e.getKey(), rank(e.getValue())))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Recompute failed", e.getCause());
+        }
+    }
+
+    /* ========= scoring ========= */
+
+    private static final Comparator<Match> BEST_FIRST =
+            Comparator.comparingDouble(Match::score).reversed().thenComparing(Match::caregiverId);
+
+    // top-K for one seeker via a size-k min-heap
+    private List<Match> rank(Seeker s) {
+        if (s.tagCount() == 0) return List.of();
+        PriorityQueue<Match> heap = new PriorityQueue<>(k + 1, BEST_FIRST.reversed());
+        for (Map.Entry<String, Giver> e : givers.entrySet()) {
+            double score = score(s, e.getValue());
+            if (score <= 0) continue;
+            heap.offer(new Match(e.getKey(), score));
+            if (heap.size() > k) heap.poll();
+        }
+        List<Match> out = new ArrayList<>(heap);
+        out.sort(BEST_FIRST);
+        return List.copyOf(out);
+    }
+
+    static double score(Seeker s, Giver g) {
+        if (s.tagCount() == 0) return 0;
+        BitSet shared = (BitSet) s.tags().clone();
+        shared.and(g.tags());
+        int overlap = shared.cardinality();
+        if (overlap == 0) return 0;
+
+        double score = W_TAGS * overlap / s.tagCount();
+        if (!s.languages().isEmpty() && !Collections.disjoint(s.languages(), g.languages())) score += W_LANG;
+        score += W_YEARS * Math.min(g.years(), 10) / 10.0;
+        return score;
+    }
+
+    /* ========= vectors ========= */
+
+    private Giver toGiver(CareGiverProfile p) {
+        Set<String> langs = new HashSet<>();
+        if (p.getLanguages() != null) {
+            p.getLanguages().forEach(l -> { if (l != null && l.getLang() != null) langs.add(norm(l.getLang())); });
+        }
+        CareGiverCardDto card = new CareGiverCardDto(p.getId(), p.getUsername(), p.getAvatarUrl(),
+                p.getTagline(), p.getSkills(), p.getLanguages());
+        return new Giver(card, bits(p.getSkills()), langs, years(p.getYears()));
+    }
+
+    private Seeker toSeeker(CareSeekerProfile p) {
+        BitSet tags = bits(p.getCareTypes());
+        Set<String> langs = new HashSet<>();
+        if (p.getLanguages() != null) p.getLanguages().forEach(l -> { if (l != null) langs.add(norm(l)); });
+        return new Seeker(tags, tags.cardinality(), langs);
+    }
+
+    private BitSet bits(Collection<String> tags) {
+        BitSet b = new BitSet();
+        if (tags != null) {
+            for (String t : tags) {
+                if (t == null || t.isBlank()) continue;
+                b.set(vocab.computeIfAbsent(norm(t), x -> nextTagId.getAndIncrement()));
+            }
+        }
+        return b;
+    }
+
+    private static int years(String s) {
+        if (s == null) return 0;
+        Matcher m = YEARS.matcher(s);
+        return m.find() ? Integer.parseInt(m.group(1)) : 0;
+    }
+
+    private static String norm(String s) {
+        return s.trim().toLowerCase(Locale.ROOT);
+    }
+}
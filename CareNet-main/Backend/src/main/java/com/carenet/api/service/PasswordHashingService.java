@@ -0,0 +1,116 @@
+package com.carenet.api.service;
+
+import com.carenet.api.config.HashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a dedicated, core-sized pool with a bounded queue so a login
+ * storm cannot occupy every Tomcat thread. When the queue is full the call is
+ * rejected immediately with {@link BusyException} (mapped to 503 + Retry-After).
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder encoder, HashingProperties props, MeterRegistry meters) {
+        this.encoder = encoder;
+        this.retryAfterSeconds = props.getRetryAfterSeconds();
+
+        int threads = props.getThreads() > 0 ? props.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, props.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = hashTimer(meters, "encode");
+        this.matchesTimer = hashTimer(meters, "matches");
+        this.queueWait = Timer.builder("carenet.hashing.queue.wait")
+                .description("Time a BCrypt task waits for a hashing thread")
+                .publishPercentileHistogram()
+                .register(meters);
+        this.rejected = Counter.builder("carenet.hashing.rejected")
+                .description("Hash requests turned away with 503 (queue full)")
+                .register(meters);
+        Gauge.builder("carenet.hashing.queue.depth", pool, p -> p.getQueue().size()).register(meters);
+        Gauge.builder("carenet.hashing.active", pool, ThreadPoolExecutor::getActiveCount).register(meters);
+    }
+
+    /** BCrypt-encode on the hashing pool. Throws BusyException if not admitted. */
+    public CompletableFuture<String> encode(CharSequence raw) {
+        return submit(timed(encodeTimer, () -> encoder.encode(raw)));
+    }
+
+    /** BCrypt-verify on the hashing pool. Throws BusyException if not admitted. */
+    public CompletableFuture<Boolean> matches(CharSequence raw, String hash) {
+        return submit(timed(matchesTimer, () -> encoder.matches(raw, hash)));
+    }
+
+    @PreDestroy
+    void shutdown() { pool.shutdown(); }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, pool);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new BusyException(retryAfterSeconds);
+        }
+    }
+
+    private static <T> Supplier<T> timed(Timer timer, Supplier<T> task) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return task.get();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private static Timer hashTimer(MeterRegistry meters, String op) {
+        return Timer.builder("carenet.hashing.latency")
+                .description("BCrypt time on the hashing pool")
+                .tag("op", op)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
+    /** Hashing pool is saturated; caller should retry after the given delay. */
+    public static class BusyException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public BusyException(long retryAfterSeconds) {
+            super("Server busy, please retry shortly");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    }
+}
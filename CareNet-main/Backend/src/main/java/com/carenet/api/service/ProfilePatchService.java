@@ -0,0 +1,167 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.profile.CareGiverProfile;
+import com.carenet.api.model.profile.CareSeekerProfile;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Partial profile updates: only the supplied fields become $set ($unset for nulls),
+ * applied with one findAndModify that also bumps {@code version}. When the client
+ * sends the version it last saw, the write only matches that version, so concurrent
+ * edits are rejected instead of silently overwritten.
+ */
+@Service
+public class ProfilePatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfilePatchService.class);
+
+    public enum Outcome { OK, NOT_FOUND, CONFLICT }
+
+    public record Result<T>(Outcome outcome, T profile) {}
+
+    // patchable field -> typed getter on a body converted to the entity class
+    private static final Map<String, Function<CareGiverProfile, Object>> CAREGIVER_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Function<CareSeekerProfile, Object>> SEEKER_FIELDS = new LinkedHashMap<>();
+
+    static {
+        CAREGIVER_FIELDS.put("username", CareGiverProfile::getUsername);
+        CAREGIVER_FIELDS.put("avatarUrl", CareGiverProfile::getAvatarUrl);
+        CAREGIVER_FIELDS.put("tagline", CareGiverProfile::getTagline);
+        CAREGIVER_FIELDS.put("about", CareGiverProfile::getAbout);
+        CAREGIVER_FIELDS.put("languages", CareGiverProfile::getLanguages);
+        CAREGIVER_FIELDS.put("certifications", CareGiverProfile::getCertifications);
+        CAREGIVER_FIELDS.put("workHistory", CareGiverProfile::getWorkHistory);
+        CAREGIVER_FIELDS.put("serviceRadius", CareGiverProfile::getServiceRadius);
+        CAREGIVER_FIELDS.put("serviceLocation", CareGiverProfile::getServiceLocation);
+        CAREGIVER_FIELDS.put("serviceRadiusKm", CareGiverProfile::getServiceRadiusKm);
+        CAREGIVER_FIELDS.put("years", CareGiverProfile::getYears);
+        CAREGIVER_FIELDS.put("skills", CareGiverProfile::getSkills);
+
+        SEEKER_FIELDS.put("phone", CareSeekerProfile::getPhone);
+        SEEKER_FIELDS.put("avatarUrl", CareSeekerProfile::getAvatarUrl);
+        SEEKER_FIELDS.put("location", CareSeekerProfile::getLocation);
+        SEEKER_FIELDS.put("geoLocation", CareSeekerProfile::getGeoLocation);
+        SEEKER_FIELDS.put("gender", CareSeekerProfile::getGender);
+        SEEKER_FIELDS.put("dob", CareSeekerProfile::getDob);
+        SEEKER_FIELDS.put("careTypes", CareSeekerProfile::getCareTypes);
+        SEEKER_FIELDS.put("languages", CareSeekerProfile::getLanguages);
+    }
+
+    private final MongoTemplate mongo;
+    private final ObjectMapper json;
+    private final GeoMatchService geo;
+
+    public ProfilePatchService(MongoTemplate mongo, ObjectMapper json, GeoMatchService geo) {
+        this.mongo = mongo;
+        this.json = json.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.geo = geo;
+    }
+
+    // profiles written before @Version existed have no version; save() would treat them as new.
+    // Idempotent and async: an unreachable Mongo only defers it to the next start, and PUT stamps
+    // a missing version itself (versionForSave) until then
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillVersions() {
+        try {
+            Query missing = Query.query(Criteria.where("version").exists(false));
+            Update zero = new Update().set("version", 0L);
+            mongo.updateMulti(missing, zero, CareGiverProfile.class);
+            mongo.updateMulti(missing, zero, CareSeekerProfile.class);
+        } catch (DataAccessException ex) {
+            log.warn("Profile version backfill skipped: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Version to save a loaded profile with. A stored profile without one (written before
+     * {@code @Version} existed and not yet backfilled, or by an older node mid-deploy) would be
+     * inserted again by save(); it is stamped with version 0 first so the save updates it.
+     */
+    public Long versionForSave(String id, Long version, Class<?> type) {
+        if (id == null || version != null) return version;
+        mongo.updateFirst(Query.query(Criteria.where("_id").is(id).and("version").exists(false)),
+                new Update().set("version", 0L), type);
+        return 0L;
+    }
+
+    /**
+     * PATCH the caregiver profile keyed by {@code email}.
+     * Without {@code expectedVersion} the patch is unconditional (and creates the profile if missing).
+     */
+    public Result<CareGiverProfile> patchCaregiver(String email, Map<String, Object> body, Long expectedVersion) {
+        CareGiverProfile typed = json.convertValue(body, CareGiverProfile.class);
+        Update u = toUpdate(body, typed, CAREGIVER_FIELDS);
+
+        // free-text area changed without an explicit point: re-derive the structured fields
+        if (body.containsKey("serviceRadius") && !body.containsKey("serviceLocation")) {
+            CareGiverProfile derived = new CareGiverProfile();
+            derived.setServiceRadius(typed.getServiceRadius());
+            derived.setServiceRadiusKm(body.containsKey("serviceRadiusKm") ? typed.getServiceRadiusKm() : null);
+            geo.fillServiceArea(derived);
+            setOrUnset(u, "serviceLocation", derived.getServiceLocation());
+            setOrUnset(u, "serviceRadiusKm", derived.getServiceRadiusKm());
+        }
+        return apply(Criteria.where("email").is(email), u, expectedVersion, CareGiverProfile.class);
+    }
+
+    /** PATCH the care seeker profile keyed by {@code userId}. */
+    public Result<CareSeekerProfile> patchSeeker(String userId, Map<String, Object> body, Long expectedVersion) {
+        CareSeekerProfile typed = json.convertValue(body, CareSeekerProfile.class);
+        Update u = toUpdate(body, typed, SEEKER_FIELDS);
+
+        if (body.containsKey("location") && !body.containsKey("geoLocation")) {
+            CareSeekerProfile derived = new CareSeekerProfile();
+            derived.setLocation(typed.getLocation());
+            geo.fillLocation(derived);
+            setOrUnset(u, "geoLocation", derived.getGeoLocation());
+        }
+        return apply(Criteria.where("userId").is(userId), u, expectedVersion, CareSeekerProfile.class);
+    }
+
+    /* ========= helpers ========= */
+
+    private <T> Result<T> apply(Criteria key, Update u, Long expectedVersion, Class<T> type) {
+        u.inc("version", 1);
+        Criteria c = expectedVersion == null ? key : new Criteria().andOperator(key, Criteria.where("version").is(expectedVersion));
+        FindAndModifyOptions opts = FindAndModifyOptions.options().returnNew(true).upsert(expectedVersion == null);
+
+        T out = mongo.findAndModify(Query.query(c), u, opts, type);
+        if (out != null) return new Result<>(Outcome.OK, out);
+        // version given and nothing matched: tell "gone" apart from "someone else saved first"
+        return mongo.exists(Query.query(key), type)
+                ? new Result<>(Outcome.CONFLICT, null)
+                : new Result<>(Outcome.NOT_FOUND, null);
+    }
+
+    private static <T> Update toUpdate(Map<String, Object> body, T typed, Map<String, Function<T, Object>> fields) {
+        Update u = new Update();
+        fields.forEach((name, getter) -> {
+            if (!body.containsKey(name)) return;
+            setOrUnset(u, name, body.get(name) == null ? null : getter.apply(typed));
+        });
+        return u;
+    }
+
+    private static void setOrUnset(Update u, String field, Object value) {
+        if (value == null) u.unset(field);
+        else u.set(field, value);
+    }
+}
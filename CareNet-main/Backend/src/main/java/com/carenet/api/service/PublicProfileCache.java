@@ -0,0 +1,124 @@
+package com.carenet.api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU + TTL cache of serialized public caregiver profiles (JSON bytes) keyed by id.
+ * Each entry carries a strong ETag derived from the profile's {@code version} (the same
+ * {@code "<version>"} that PATCH /me returns), so repeat views can be answered with 304
+ * without Mongo or Jackson. Invalidated when the caregiver saves their profile; the TTL
+ * bounds staleness for edits made through other nodes.
+ *
+ * invalidate() leaves the saved version behind, so a copy read before that save cannot be
+ * put back afterwards. Profiles without a version (not yet backfilled) are neither cached
+ * nor given an ETag.
+ */
+@Component
+public class PublicProfileCache implements MeterBinder {
+
+    /** {@code body} is null for the marker left by invalidate(). */
+    public record Entry(byte[] body, Long version, long expiresAtMillis) {
+        /** Quoted strong validator, or null when the profile has no version. */
+        public String etag() {
+            return version == null ? null : "\"" + version + "\"";
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // access-ordered LinkedHashMap = LRU; guarded by "this"
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PublicProfileCache(@Value("${app.profile-cache.max-entries:2000}") int maxEntries,
+                              @Value("${app.profile-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PublicProfileCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** Cached entry or null (miss / expired). */
+    public synchronized Entry get(String id) {
+        Entry e = entries.get(id);
+        if (e != null && e.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(id);
+            e = null;
+        }
+        if (e == null || e.body() == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e;
+    }
+
+    /**
+     * Store freshly serialized bytes of the profile at {@code version} and return the entry
+     * to serve. Not stored when the cache already knows a newer version (the copy was read
+     * before a concurrent save) or when there is no version.
+     */
+    public Entry put(String id, Long version, byte[] body) {
+        Entry e = new Entry(body, version, System.currentTimeMillis() + ttlMillis);
+        if (version == null) return e;
+        synchronized (this) {
+            Entry known = entries.get(id);
+            boolean newer = known != null && known.version() != null && known.version() > version
+                    && known.expiresAtMillis() > System.currentTimeMillis();
+            if (!newer) entries.put(id, e);
+        }
+        return e;
+    }
+
+    /** The profile was saved at {@code version}: drop its bytes, refuse older copies from now on. */
+    public synchronized void invalidate(String id, Long version) {
+        if (version == null) entries.remove(id);
+        else entries.put(id, new Entry(null, version, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /** 200 with the cached bytes and their ETag, or 304 when {@code ifNoneMatch} already has them. */
+    public static ResponseEntity<byte[]> respond(Entry e, String ifNoneMatch) {
+        String etag = e.etag();
+        if (etag == null) return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(e.body());
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(e.body());
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public long hits() { return hits.sum(); }
+    public long misses() { return misses.sum(); }
+
+    public double hitRatio() {
+        long h = hits(), total = h + misses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("carenet.profile.cache.hits", this, PublicProfileCache::hits).register(registry);
+        FunctionCounter.builder("carenet.profile.cache.misses", this, PublicProfileCache::misses).register(registry);
+        Gauge.builder("carenet.profile.cache.hit.ratio", this, PublicProfileCache::hitRatio).register(registry);
+        Gauge.builder("carenet.profile.cache.size", this, PublicProfileCache::size).register(registry);
+    }
+}
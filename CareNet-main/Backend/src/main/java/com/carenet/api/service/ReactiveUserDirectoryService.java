@@ -0,0 +1,38 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.User;
+import com.carenet.api.model.common.Role;
+import com.carenet.api.service.UserDirectoryService.DirectoryPage;
+import com.carenet.api.service.UserDirectoryService.Filter;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking twin of UserDirectoryService for the reactive serving mode:
+ * identical $facet pipeline, run through the reactive driver.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserDirectoryService {
+
+    private final ReactiveMongoTemplate mongo;
+
+    public <T> Mono<DirectoryPage<T>> search(Role role, Filter f, Function<User, T> toRow) {
+        int size = UserDirectoryService.pageSize(f);
+        int page = Math.max(0, f.page());
+        // build eagerly so a bad status filter fails before subscription (-> 400)
+        var pipeline = UserDirectoryService.pipeline(role, f, page, size);
+        return mongo.aggregate(pipeline, User.class, Document.class)
+                .next()
+                .map(out -> UserDirectoryService.toPage(out, mongo.getConverter(), toRow, page, size))
+                .defaultIfEmpty(new DirectoryPage<>(List.of(), 0, page, size));
+    }
+}
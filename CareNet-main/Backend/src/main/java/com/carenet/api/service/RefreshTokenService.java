@@ -0,0 +1,125 @@
+package com.carenet.api.service;
+
+import com.carenet.api.config.AppJwtProperties;
+import com.carenet.api.model.auth.RefreshToken;
+import com.carenet.api.repository.RefreshTokenRepository;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Issues and rotates opaque refresh tokens. Renewing an access token is one
+ * indexed findAndModify instead of a BCrypt verify.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository tokens;
+    private final MongoTemplate mongo;
+    private final long ttlSeconds;
+
+    public RefreshTokenService(RefreshTokenRepository tokens, MongoTemplate mongo, AppJwtProperties props) {
+        this.tokens = tokens;
+        this.mongo = mongo;
+        this.ttlSeconds = props.getRefreshTtlSeconds();
+    }
+
+    /** Start a new token family (login / register). Returns the raw token for the client. */
+    public String issue(String userId, String email, Set<String> roles) {
+        return issue(UUID.randomUUID().toString(), userId, email, roles);
+    }
+
+    /**
+     * Consume a refresh token and hand out its successor.
+     * Empty if the token is unknown, expired or was already rotated (reuse revokes the family),
+     * or if {@code admit} rejects it; a rejected token is released unconsumed.
+     */
+    public Optional<Rotated> rotate(String rawToken, Predicate<RefreshToken> admit) {
+        if (rawToken == null || rawToken.isBlank()) return Optional.empty();
+        String hash = hash(rawToken);
+        Instant now = Instant.now();
+
+        Query unused = Query.query(Criteria.where("tokenHash").is(hash)
+                .and("usedAt").is(null)
+                .and("expiresAt").gt(now));
+        RefreshToken current = mongo.findAndModify(unused, new Update().set("usedAt", now),
+                FindAndModifyOptions.options().returnNew(true), RefreshToken.class);
+
+        if (current == null) {
+            // already rotated -> someone replayed it; kill every token of that login
+            tokens.findByTokenHash(hash)
+                    .filter(t -> t.getUsedAt() != null)
+                    .ifPresent(t -> tokens.deleteByFamilyId(t.getFamilyId()));
+            return Optional.empty();
+        }
+        if (!admit.test(current)) {
+            // not this token's fault (e.g. the account check failed); a retry must not look like reuse
+            mongo.updateFirst(Query.query(Criteria.where("tokenHash").is(hash).and("usedAt").is(now)),
+                    new Update().unset("usedAt"), RefreshToken.class);
+            return Optional.empty();
+        }
+
+        String next = issue(current.getFamilyId(), current.getUserId(), current.getEmail(), current.getRoles());
+        return Optional.of(new Rotated(current, next));
+    }
+
+    /** Logout: drop the token's whole family. */
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return;
+        tokens.findByTokenHash(hash(rawToken)).ifPresent(t -> tokens.deleteByFamilyId(t.getFamilyId()));
+    }
+
+    /** Drop every refresh token of a user (e.g. account deactivated). */
+    public void revokeAll(String userId) {
+        tokens.deleteByUserId(userId);
+    }
+
+    /* ========= helpers ========= */
+
+    private String issue(String familyId, String userId, String email, Set<String> roles) {
+        byte[] raw = new byte[32];
+        RANDOM.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        Instant now = Instant.now();
+        RefreshToken t = new RefreshToken();
+        t.setTokenHash(hash(token));
+        t.setFamilyId(familyId);
+        t.setUserId(userId);
+        t.setEmail(email);
+        t.setRoles(roles);
+        t.setCreatedAt(now);
+        t.setExpiresAt(now.plusSeconds(ttlSeconds));
+        tokens.insert(t);
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(d);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** The consumed token (for its claims) plus the raw successor token. */
+    public record Rotated(RefreshToken previous, String nextToken) {}
+}
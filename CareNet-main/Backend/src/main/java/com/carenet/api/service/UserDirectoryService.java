@@ -0,0 +1,155 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.User;
+import com.carenet.api.model.common.Role;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Server-side filtered / sorted / paged admin user directory.
+ * $match and $sort run first (index-backed), then one $facet returns the page and
+ * the total count; only the directory row fields are projected (never passwordHash
+ * or address). Backed by users{roles, status, _id} and, for the name/email prefix
+ * search, users{roles, searchKeys}.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserDirectoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDirectoryService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    static final int BACKFILL_BATCH = 500;
+    // each has a {roles, field, _id} index on User (status: roles_status_id)
+    private static final Set<String> SORTABLE = Set.of("firstName", "lastName", "email", "city", "status");
+
+    private final MongoTemplate mongo;
+
+    public record Filter(String status, String city, String q, String sort, String dir, int page, int size) {}
+
+    public record DirectoryPage<T>(List<T> items, long total, int page, int size) {}
+
+    public <T> DirectoryPage<T> search(Role role, Filter f, Function<User, T> toRow) {
+        int size = pageSize(f);
+        int page = Math.max(0, f.page());
+        AggregationResults<Document> res = mongo.aggregate(pipeline(role, f, page, size), User.class, Document.class);
+        return toPage(res.getUniqueMappedResult(), mongo.getConverter(), toRow, page, size);
+    }
+
+    // users written before searchKeys existed; idempotent, so a down Mongo just defers it to the next start
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillSearchKeys() {
+        Query q = Query.query(Criteria.where("searchKeys").exists(false));
+        q.fields().include("firstName").include("lastName").include("email");
+        long updated = 0;
+        try (Stream<User> rows = mongo.stream(q.cursorBatchSize(BACKFILL_BATCH), User.class)) {
+            BulkOperations ops = null;
+            int pending = 0;
+            for (Iterator<User> it = rows.iterator(); it.hasNext(); ) {
+                User u = it.next();
+                if (ops == null) ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+                ops.updateOne(Query.query(Criteria.where("_id").is(u.getId())),
+                        Update.update("searchKeys", User.searchKeys(u.getFirstName(), u.getLastName(), u.getEmail())));
+                if (++pending == BACKFILL_BATCH) {
+                    updated += ops.execute().getModifiedCount();
+                    ops = null;
+                    pending = 0;
+                }
+            }
+            if (ops != null) updated += ops.execute().getModifiedCount();
+        } catch (DataAccessException ex) {
+            log.warn("users.searchKeys backfill stopped after {} users: {}", updated, ex.getMessage());
+            return;
+        }
+        if (updated > 0) log.info("users.searchKeys backfilled for {} users", updated);
+    }
+
+    static int pageSize(Filter f) {
+        return Math.max(1, Math.min(f.size(), MAX_PAGE_SIZE));
+    }
+
+    // shared with ReactiveUserDirectoryService: same pipeline, different driver
+    static Aggregation pipeline(Role role, Filter f, int page, int size) {
+        Criteria c = Criteria.where("roles").is(role.name());
+        if (f.status() != null && !f.status().isBlank()) {
+            String s = User.Status.valueOf(f.status().trim().toUpperCase()).name();
+            // documents written before the status field existed count as ACTIVE
+            c = s.equals(User.Status.ACTIVE.name()) ? c.and("status").in(s, null) : c.and("status").is(s);
+        }
+        if (f.city() != null && !f.city().isBlank()) {
+            c = c.and("city").is(f.city().trim());
+        }
+        if (f.q() != null && !f.q().isBlank()) {
+            // searchKeys is stored lower-cased: a plain anchored regex keeps index bounds
+            c = c.and("searchKeys").regex("^" + escape(f.q().trim().toLowerCase(Locale.ROOT)));
+        }
+
+        String sortField = f.sort() != null && SORTABLE.contains(f.sort()) ? f.sort() : "_id";
+        Sort.Direction dir = "desc".equalsIgnoreCase(f.dir()) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // tie-break in the same direction so a descending page walks the index backwards
+        Sort sort = sortField.equals("_id") ? Sort.by(dir, "_id") : Sort.by(dir, sortField, "_id");
+
+        return Aggregation.newAggregation(
+                Aggregation.match(c),
+                Aggregation.sort(sort),
+                Aggregation.facet(
+                                Aggregation.skip((long) page * size),
+                                Aggregation.limit(size),
+                                Aggregation.project("firstName", "email", "phone", "status"))
+                        .as("items")
+                        .and(Aggregation.count().as("n"))
+                        .as("meta"))
+                // a text filter may pick roles_searchKeys and sort the matches; never fail at 100 MB
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+    }
+
+    // backslash every non-alphanumeric char; unlike \Q..\E the server still sees a simple prefix
+    static String escape(String s) {
+        StringBuilder out = new StringBuilder(s.length() + 8);
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (!Character.isLetterOrDigit(ch)) out.append('\\');
+            out.append(ch);
+        }
+        return out.toString();
+    }
+
+    static <T> DirectoryPage<T> toPage(Document out, MongoConverter converter, Function<User, T> toRow, int page, int size) {
+        List<T> items = new ArrayList<>();
+        long total = 0;
+        if (out != null) {
+            for (Document d : out.getList("items", Document.class)) {
+                items.add(toRow.apply(converter.read(User.class, d)));
+            }
+            List<Document> meta = out.getList("meta", Document.class);
+            if (!meta.isEmpty()) total = ((Number) meta.get(0).get("n")).longValue();
+        }
+        return new DirectoryPage<>(items, total, page, size);
+    }
+}
@@ -0,0 +1,251 @@
+package com.carenet.api.service;
+
+import com.carenet.api.config.HashingProperties;
+import com.carenet.api.model.User;
+import com.carenet.api.model.common.Role;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk user import (CSV or NDJSON), streamed line by line.
+ * Each batch is hashed in parallel on one bounded import pool (app.hashing.import-threads,
+ * by default half the cores so logins keep the rest), then written with one unordered
+ * insertMany; duplicates are detected by the unique users.email index instead of
+ * a findByEmail per row. Only one import runs at a time; another one is rejected with
+ * {@link BusyException}.
+ */
+@Service
+public class UserImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    static final int BATCH_SIZE = 1000;
+    static final int MAX_REPORTED_ROWS = 1000;   // detail rows kept in the report
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongo;
+    private final PasswordEncoder encoder;
+    private final ObjectMapper json;
+    private final ExecutorService hashPool;
+    private final Semaphore running = new Semaphore(1);
+
+    public UserImportService(MongoTemplate mongo, PasswordEncoder encoder, ObjectMapper json, HashingProperties props) {
+        this.mongo = mongo;
+        this.encoder = encoder;
+        this.json = json.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        int threads = props.getImportThreads() > 0
+                ? props.getImportThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "import-bcrypt-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    public ImportReport importUsers(InputStream in, Format format, Role defaultRole) throws IOException {
+        if (!running.tryAcquire()) throw new BusyException();
+        try {
+            return run(in, format, defaultRole);
+        } finally {
+            running.release();
+        }
+    }
+
+    private ImportReport run(InputStream in, Format format, Role defaultRole) throws IOException {
+        // the whole approach relies on this index; cheap no-op when it already exists
+        mongo.indexOps(User.class).createIndex(new Index("email", Sort.Direction.ASC).unique());
+
+        ImportReport report = new ImportReport();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String[] header = null;
+            List<PendingRow> batch = new ArrayList<>(BATCH_SIZE);
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                if (format == Format.CSV && header == null) {
+                    header = parseCsvLine(line).stream().map(String::trim).toArray(String[]::new);
+                    continue;
+                }
+                report.total++;
+                try {
+                    ImportRow row = format == Format.CSV ? fromCsv(header, line) : json.readValue(line, ImportRow.class);
+                    batch.add(new PendingRow(lineNo, toUser(row, defaultRole), row.getPassword()));
+                } catch (Exception ex) {
+                    report.error(lineNo, null, ex.getMessage());
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    flush(batch, report);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) flush(batch, report);
+        }
+        return report;
+    }
+
+    /* ========= helpers ========= */
+
+    private void flush(List<PendingRow> batch, ImportReport report) {
+        hashAll(batch);
+
+        BulkOperations ops = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        batch.forEach(p -> ops.insert(p.user));
+        try {
+            report.inserted += ops.execute().getInsertedCount();
+        } catch (BulkOperationException ex) {
+            report.inserted += ex.getResult().getInsertedCount();
+            for (BulkWriteError err : ex.getErrors()) {
+                PendingRow p = batch.get(err.getIndex());
+                if (err.getCode() == DUPLICATE_KEY) report.duplicate(p.line, p.user.getEmail());
+                else report.error(p.line, p.user.getEmail(), err.getMessage());
+            }
+        }
+    }
+
+    private void hashAll(List<PendingRow> batch) {
+        List<Future<String>> hashes = new ArrayList<>(batch.size());
+        for (PendingRow p : batch) hashes.add(hashPool.submit(() -> encoder.encode(p.password)));
+        try {
+            for (int i = 0; i < batch.size(); i++) batch.get(i).user.setPasswordHash(hashes.get(i).get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static User toUser(ImportRow r, Role defaultRole) {
+        if (r.getEmail() == null || r.getEmail().isBlank()) throw new IllegalArgumentException("Missing email");
+        if (r.getPassword() == null || r.getPassword().isEmpty()) throw new IllegalArgumentException("Missing password");
+
+        User u = new User();
+        u.setFirstName(r.getFirstName());
+        u.setLastName(r.getLastName());
+        u.setEmail(r.getEmail().trim());
+        u.setPhone(r.getPhone());
+        u.setCity(r.getCity());
+        u.setAddress(r.getAddress());
+        Role role = r.getRole() == null || r.getRole().isBlank() ? defaultRole : Role.valueOf(r.getRole().trim().toUpperCase());
+        u.setRoles(Set.of(role));
+        u.setStatus(User.Status.ACTIVE);
+        return u;
+    }
+
+    private static ImportRow fromCsv(String[] header, String line) {
+        List<String> cols = parseCsvLine(line);
+        ImportRow r = new ImportRow();
+        for (int i = 0; i < header.length && i < cols.size(); i++) {
+            String v = cols.get(i);
+            switch (header[i]) {
+                case "firstName" -> r.setFirstName(v);
+                case "lastName" -> r.setLastName(v);
+                case "email" -> r.setEmail(v);
+                case "password" -> r.setPassword(v);
+                case "phone" -> r.setPhone(v);
+                case "city" -> r.setCity(v);
+                case "address" -> r.setAddress(v);
+                case "role" -> r.setRole(v);
+                default -> { /* ignore unknown columns */ }
+            }
+        }
+        return r;
+    }
+
+    // RFC 4180-ish: commas, "quoted, fields" and "" escapes; no embedded newlines
+    static List<String> parseCsvLine(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') { cur.append('"'); i++; }
+                else if (c == '"') quoted = false;
+                else cur.append(c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    private record PendingRow(int line, User user, String password) {}
+
+    /* ========= DTOs ========= */
+
+    @Data
+    public static class ImportRow {
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String password;
+        private String phone;
+        private String city;
+        private String address;
+        private String role;
+    }
+
+    public record RowIssue(int line, String email, String message) {}
+
+    @Data
+    public static class ImportReport {
+        private int total;
+        private long inserted;
+        private int duplicateCount;
+        private int errorCount;
+        private List<RowIssue> duplicates = new ArrayList<>();
+        private List<RowIssue> errors = new ArrayList<>();
+
+        void duplicate(int line, String email) {
+            duplicateCount++;
+            if (duplicates.size() < MAX_REPORTED_ROWS) duplicates.add(new RowIssue(line, email, "Email already registered"));
+        }
+
+        void error(int line, String email, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ROWS) errors.add(new RowIssue(line, email, message));
+        }
+    }
+
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("An import is already running, retry when it has finished");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.carenet.api.config;
+
+import com.carenet.api.model.User;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevocationRegistryTest {
+
+    private final List<Document> users = new ArrayList<>();
+    private RevocationRegistry registry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoTemplate mongo = mock(MongoTemplate.class);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        FindIterable<Document> found = mock(FindIterable.class);
+        when(mongo.getCollectionName(User.class)).thenReturn("users");
+        when(mongo.getCollection("users")).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        when(found.projection(any())).thenReturn(found);
+        doAnswer(inv -> {
+            Consumer<Document> each = inv.getArgument(0);
+            users.forEach(each);
+            return null;
+        }).when(found).forEach(any());
+
+        AppJwtProperties jwt = new AppJwtProperties();
+        jwt.setTtlSeconds(900);
+        registry = new RevocationRegistry(mongo, jwt, false);
+    }
+
+    @Test
+    void failsClosedUntilTheFirstLoad() {
+        long now = Instant.now().getEpochSecond();
+        assertThat(registry.isLoaded()).isFalse();
+        assertThat(registry.isRevoked("u1", now)).isTrue();
+        assertThat(registry.isDeactivated("u1")).isTrue();
+
+        registry.load();
+
+        assertThat(registry.isLoaded()).isTrue();
+        assertThat(registry.isRevoked("u1", now)).isFalse();
+        assertThat(registry.isDeactivated("u1")).isFalse();
+    }
+
+    @Test
+    void loadPicksUpDeactivatedUsersAndRecentStatusChanges() {
+        Instant changed = Instant.now().minusSeconds(60);
+        users.add(new Document("_id", "gone").append("status", "DEACTIVATED").append("statusChangedAt", Date.from(changed)));
+        users.add(new Document("_id", "back").append("status", "ACTIVE").append("statusChangedAt", Date.from(changed)));
+
+        registry.load();
+
+        assertThat(registry.isRevoked("gone", Instant.now().getEpochSecond())).isTrue();
+        // reactivated: tokens from before the change stay dead, newer ones are fine
+        assertThat(registry.isRevoked("back", changed.getEpochSecond() - 1)).isTrue();
+        assertThat(registry.isRevoked("back", changed.getEpochSecond())).isFalse();
+    }
+
+    @Test
+    void deactivateAndReactivateKillsTokensIssuedBefore() {
+        registry.load();
+        Instant issued = Instant.now().minusSeconds(30);
+
+        registry.onStatusChange("u1", User.Status.DEACTIVATED, Instant.now().minusSeconds(20));
+        assertThat(registry.isRevoked("u1", issued.getEpochSecond())).isTrue();
+        assertThat(registry.isRevoked("u1", Instant.now().getEpochSecond())).isTrue();
+
+        Instant reactivated = Instant.now().minusSeconds(10);
+        registry.onStatusChange("u1", User.Status.ACTIVE, reactivated);
+        assertThat(registry.isDeactivated("u1")).isFalse();
+        assertThat(registry.isRevoked("u1", issued.getEpochSecond())).isTrue();
+        assertThat(registry.isRevoked("u1", reactivated.getEpochSecond() + 1)).isFalse();
+
+        assertThat(registry.isRevoked("someone-else", issued.getEpochSecond())).isFalse();
+    }
+}
@@ -0,0 +1,57 @@
+package com.carenet.api.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void returnsTheEntryUntilTheTokenExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        long now = System.currentTimeMillis();
+        cache.put("valid", "u1", "a@b.c", List.of("ADMIN"), now / 1000, now + HOUR);
+        cache.put("expired", "u2", "d@e.f", List.of("ADMIN"), now / 1000 - 7200, now - 1);
+
+        assertThat(cache.get("valid")).isNotNull()
+                .satisfies(e -> assertThat(e.uid()).isEqualTo("u1"));
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.get("unknown")).isNull();
+
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.evictions()).isEqualTo(1);   // the expired entry is dropped on read
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void staysWithinMaxEntriesDroppingExpiredEntriesFirst() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) cache.put("old" + i, "u" + i, null, List.of(), 0, now - 1);
+        for (int i = 0; i < 5; i++) cache.put("live" + i, "u" + i, null, List.of(), 0, now + HOUR);
+
+        cache.put("one-more", "u", null, List.of(), 0, now + HOUR);
+
+        assertThat(cache.size()).isEqualTo(6);
+        for (int i = 0; i < 5; i++) assertThat(cache.get("live" + i)).isNotNull();
+
+        for (int i = 0; i < 50; i++) cache.put("t" + i, "u", null, List.of(), 0, now + HOUR);
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void authoritiesArePrefixedAndSharedPerRoleSet() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        List<?> a = cache.authoritiesFor(List.of("CAREGIVER", "ROLE_ADMIN"));
+        List<?> b = cache.authoritiesFor(List.of("ROLE_ADMIN", "CAREGIVER"));
+
+        assertThat(a).extracting(Object::toString).containsExactly("ROLE_ADMIN", "ROLE_CAREGIVER");
+        assertThat(b).isSameAs(a);
+    }
+}
@@ -0,0 +1,45 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.profile.CareGiverProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CareGiverSearchIndexTest {
+
+    private final CareGiverSearchIndex index = new CareGiverSearchIndex(mock(MongoTemplate.class), false);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            CareGiverProfile p = new CareGiverProfile();
+            p.setId("g" + i);
+            p.setSkills(Set.of("CPR"));
+            index.upsert(p);
+        }
+    }
+
+    @Test
+    void pagesWalkTheMatchesInOrder() {
+        assertThat(index.search("cpr", null, null, 0, 2).items()).extracting(h -> h.card().id())
+                .containsExactly("g0", "g1");
+        assertThat(index.search("cpr", null, null, 2, 2).items()).extracting(h -> h.card().id())
+                .containsExactly("g4");
+    }
+
+    @Test
+    void pagesPastTheResultWindowKeepTheTotalsButReturnNoItems() {
+        CareGiverSearchIndex.Result deep = index.search("cpr", null, null, 1_000_000, 100);
+        assertThat(deep.total()).isEqualTo(5);
+        assertThat(deep.skills()).containsEntry("CPR", 5);
+        assertThat(deep.items()).isEmpty();
+
+        // (page + 1) * size overflows an int
+        assertThat(index.search("", null, null, Integer.MAX_VALUE, 100).items()).isEmpty();
+    }
+}
@@ -0,0 +1,236 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.feedback.Feedback;
+import com.carenet.api.model.feedback.FeedbackBucket;
+import com.carenet.api.model.feedback.FeedbackRollup;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedbackRollupServiceTest {
+
+    // a Wednesday; its ISO week starts on Monday 2025-03-10
+    private static final Instant AT = Instant.parse("2025-03-12T10:15:00Z");
+    private static final String DAY = FeedbackRollupService.bucketId(FeedbackBucket.DAY, LocalDate.of(2025, 3, 12));
+    private static final String WEEK = FeedbackRollupService.bucketId(FeedbackBucket.WEEK, LocalDate.of(2025, 3, 10));
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private FeedbackRollupService rollups;
+
+    @BeforeEach
+    void setUp() {
+        when(mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, FeedbackBucket.class)).thenReturn(bulk);
+        rollups = new FeedbackRollupService(mongo);
+    }
+
+    @Test
+    void starRoundsHalfUpAndClamps() {
+        assertThat(FeedbackRollupService.star(4, 5)).isEqualTo(5);
+        assertThat(FeedbackRollupService.star(3, 4)).isEqualTo(4);
+        assertThat(FeedbackRollupService.star(1, 2)).isEqualTo(2);
+        assertThat(FeedbackRollupService.star(0, 0)).isEqualTo(1);
+        assertThat(FeedbackRollupService.star(9, 9)).isEqualTo(5);
+    }
+
+    @Test
+    void createIncrementsTheRollupAndTheDayAndWeekBuckets() {
+        rollups.onCreate(feedback(4, 5, List.of("Search"), List.of()));
+
+        assertThat(rollupInc()).containsOnly(
+                entry("total", 1), entry("stars.5", 1), entry("qualitySum", 4), entry("supportSum", 5));
+        Map<String, Map<String, Long>> buckets = bucketIncs();
+        assertThat(buckets).containsOnlyKeys(DAY, WEEK);
+        assertThat(buckets.get(DAY)).containsOnly(
+                entry("total", 1L), entry("stars.5", 1L), entry("qualitySum", 4L), entry("supportSum", 5L),
+                entry("useful.Search", 1L));
+    }
+
+    @Test
+    void createAllMergesTheBatchIntoOneIncrementPerField() {
+        rollups.onCreateAll(List.of(
+                feedback(5, 5, null, null), feedback(5, 4, null, null), feedback(1, 2, null, null)));
+
+        assertThat(rollupInc()).containsOnly(
+                entry("total", 3), entry("stars.5", 2), entry("stars.2", 1),
+                entry("qualitySum", 11L), entry("supportSum", 11L));
+    }
+
+    @Test
+    void updateAppliesOnlyTheDifferenceAndMovesTheStar() {
+        Feedback before = feedback(4, 4, List.of("Search"), List.of("Chat"));
+        Feedback after = feedback(2, 4, List.of("Search", "a.b$c"), List.of("Chat"));
+
+        rollups.onUpdate(before, after);
+
+        assertThat(rollupInc()).containsOnly(
+                entry("qualitySum", -2), entry("supportSum", 0), entry("stars.4", -1), entry("stars.3", 1));
+        // unchanged counters cancel out; only what differs is written to each bucket
+        Map<String, Long> day = bucketIncs().get(DAY);
+        assertThat(day).containsOnly(
+                entry("stars.4", -1L), entry("stars.3", 1L), entry("qualitySum", -2L),
+                entry("useful." + FeedbackRollupService.escapeTerm("a.b$c"), 1L));
+    }
+
+    @Test
+    void updateThatChangesNothingCountedWritesNoBuckets() {
+        rollups.onUpdate(feedback(3, 3, List.of("Search"), null), feedback(3, 3, List.of("Search"), null));
+
+        verify(bulk, never()).execute();
+    }
+
+    @Test
+    void deleteSubtractsWhatCreateAdded() {
+        rollups.onDelete(feedback(4, 5, List.of("Search"), List.of()));
+
+        assertThat(rollupInc()).containsOnly(
+                entry("total", -1), entry("stars.5", -1), entry("qualitySum", -4), entry("supportSum", -5));
+        assertThat(bucketIncs().get(WEEK)).containsEntry("useful.Search", -1L);
+    }
+
+    @Test
+    void featureNamesAreEscapedForFieldPathsAndRoundTrip() {
+        String raw = "100% uptime. $5 plan";
+        String key = FeedbackRollupService.escapeTerm(raw);
+
+        assertThat(key).doesNotContain(".", "$");
+        assertThat(FeedbackRollupService.unescapeTerm(key)).isEqualTo(raw);
+    }
+
+    @Test
+    void seedRebuildsARollupThatOnlyIncrementsHaveWritten() {
+        FeedbackRollup partial = new FeedbackRollup();
+        partial.setId(FeedbackRollup.GLOBAL);
+        partial.setTotal(1);
+        when(mongo.findById(FeedbackRollup.GLOBAL, FeedbackRollup.class)).thenReturn(partial);
+        noRawFeedback();
+
+        rollups.seedIfMissing();
+        rollups.seedIfMissing();
+
+        ArgumentCaptor<FeedbackRollup> saved = ArgumentCaptor.forClass(FeedbackRollup.class);
+        verify(mongo).save(saved.capture());
+        assertThat(saved.getValue().getRebuiltAt()).isNotNull();
+    }
+
+    @Test
+    void seedIsRetriedAfterMongoWasUnreachable() {
+        when(mongo.findById(FeedbackRollup.GLOBAL, FeedbackRollup.class))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(null);
+        noRawFeedback();
+
+        rollups.seedIfMissing();
+        verify(mongo, never()).save(any(FeedbackRollup.class));
+
+        rollups.seedIfMissing();
+        verify(mongo).save(any(FeedbackRollup.class));
+    }
+
+    @Test
+    void seedSkipsARollupThatWasRebuilt() {
+        FeedbackRollup r = new FeedbackRollup();
+        r.setId(FeedbackRollup.GLOBAL);
+        r.setRebuiltAt(AT);
+        r.setBucketsRebuiltAt(AT);
+        when(mongo.findById(FeedbackRollup.GLOBAL, FeedbackRollup.class)).thenReturn(r);
+
+        rollups.seedIfMissing();
+
+        verify(mongo, never()).save(any(FeedbackRollup.class));
+        verify(mongo, never()).remove(any(Query.class), eq(FeedbackBucket.class));
+    }
+
+    @Test
+    void seedRebuildsBucketsThatOnlyIncrementsHaveWritten() {
+        FeedbackRollup r = new FeedbackRollup();
+        r.setId(FeedbackRollup.GLOBAL);
+        r.setRebuiltAt(AT);
+        when(mongo.findById(FeedbackRollup.GLOBAL, FeedbackRollup.class)).thenReturn(r);
+        noRawFeedback();
+
+        rollups.seedIfMissing();
+
+        verify(mongo, never()).save(any(FeedbackRollup.class));
+        verify(mongo).remove(any(Query.class), eq(FeedbackBucket.class));
+        ArgumentCaptor<Update> u = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).upsert(any(Query.class), u.capture(), eq(FeedbackRollup.class));
+        assertThat(u.getValue().getUpdateObject().get("$set", Document.class)).containsKey("bucketsRebuiltAt");
+    }
+
+    /* ========= helpers ========= */
+
+    // an empty feedback collection for rebuild() / rebuildBuckets()
+    @SuppressWarnings("unchecked")
+    private void noRawFeedback() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        AggregateIterable<Document> groups = mock(AggregateIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(mongo.getCollectionName(Feedback.class)).thenReturn("feedback");
+        when(mongo.getCollection("feedback")).thenReturn(collection);
+        when(collection.aggregate(anyList())).thenReturn(groups);
+        when(groups.iterator()).thenReturn(cursor);
+        when(mongo.stream(any(Query.class), eq(Feedback.class))).thenAnswer(inv -> Stream.empty());
+    }
+
+    private static Feedback feedback(int quality, int support, List<String> useful, List<String> missing) {
+        Feedback f = new Feedback();
+        f.setQuality(quality);
+        f.setSupport(support);
+        f.setUseful(useful);
+        f.setMissing(missing);
+        f.setCreatedAt(AT);
+        return f;
+    }
+
+    // $inc of the single upsert on the global rollup document
+    private Map<String, Object> rollupInc() {
+        ArgumentCaptor<Update> u = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).upsert(any(Query.class), u.capture(), eq(FeedbackRollup.class));
+        return u.getValue().getUpdateObject().get("$inc", Document.class);
+    }
+
+    // bucket id -> $inc of its upsert in the bulk write
+    private Map<String, Map<String, Long>> bucketIncs() {
+        ArgumentCaptor<Query> q = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> u = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, atLeastOnce()).upsert(q.capture(), u.capture());
+        Map<String, Map<String, Long>> out = new HashMap<>();
+        for (int i = 0; i < q.getAllValues().size(); i++) {
+            String id = q.getAllValues().get(i).getQueryObject().getString("_id");
+            Map<String, Long> incs = new HashMap<>();
+            u.getAllValues().get(i).getUpdateObject().get("$inc", Document.class)
+                    .forEach((k, v) -> incs.put(k, ((Number) v).longValue()));
+            out.put(id, incs);
+        }
+        verify(bulk).execute();
+        return out;
+    }
+}
@@ -0,0 +1,156 @@
+package com.carenet.api.service;
+
+import com.carenet.api.model.profile.CareGiverProfile;
+import com.carenet.api.model.profile.CareSeekerProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchingServiceTest {
+
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private MatchingService matching;
+
+    @AfterEach
+    void tearDown() {
+        if (matching != null) matching.shutdown();
+    }
+
+    @Test
+    void scoresTagOverlapLanguageAndYears() {
+        load(2, List.of(giver("g1", Set.of("Elder Care", "CPR"), "English", "5 years")),
+                List.of(seeker("s1", Set.of("elder care", "cpr"), "english")));
+
+        // 0.7 * 2/2 + 0.2 (shared language) + 0.1 * 5/10
+        assertThat(matching.recommendationsFor("s1")).singleElement()
+                .satisfies(r -> assertThat(r.score()).isCloseTo(0.95, within(1e-9)));
+    }
+
+    @Test
+    void partialOverlapScalesWithTheSeekersTagCountAndYearsAreCapped() {
+        load(2, List.of(giver("g1", Set.of("CPR"), "Sinhala", "25 years")),
+                List.of(seeker("s1", Set.of("Elder Care", "CPR", "Cooking", "Driving"), "English")));
+
+        // 0.7 * 1/4, no shared language, years capped at 10
+        assertThat(matching.recommendationsFor("s1")).singleElement()
+                .satisfies(r -> assertThat(r.score()).isCloseTo(0.175 + 0.1, within(1e-9)));
+    }
+
+    @Test
+    void caregiversWithoutASharedTagAreNotRecommended() {
+        load(2, List.of(giver("g1", Set.of("Child Care"), "English", "10")),
+                List.of(seeker("s1", Set.of("Elder Care"), "English")));
+
+        assertThat(matching.recommendationsFor("s1")).isEmpty();
+    }
+
+    @Test
+    void keepsTheBestKBestFirstWithTiesByCaregiverId() {
+        load(2, List.of(
+                        giver("g2", Set.of("CPR"), null, "2"),
+                        giver("g1", Set.of("CPR", "Elder Care"), null, "2"),
+                        giver("g0", Set.of("CPR"), null, "2"),
+                        giver("g3", Set.of("Cooking"), null, "9")),
+                List.of(seeker("s1", Set.of("CPR", "Elder Care"), null)));
+
+        // g1 has both tags; g0 and g2 tie on one tag and only one of them fits in k=2
+        assertThat(matching.recommendationsFor("s1"))
+                .extracting(r -> r.card().id())
+                .containsExactly("g1", "g0");
+    }
+
+    @Test
+    void aListedCaregiverThatDropsBelowAnUnlistedOneIsReplaced() {
+        load(2, List.of(
+                        giver("g1", Set.of("CPR", "Elder Care"), null, "0"),
+                        giver("g2", Set.of("CPR", "Elder Care"), null, "0"),
+                        giver("g3", Set.of("CPR"), null, "5")),
+                List.of(seeker("s1", Set.of("CPR", "Elder Care"), null)));
+        assertThat(ids("s1")).containsExactly("g1", "g2");
+
+        // g1 falls to 0.35, below g3's 0.40 which was never in the list
+        matching.onCaregiverSaved(giver("g1", Set.of("CPR"), null, "0"));
+
+        awaitIds("s1", List.of("g2", "g3"));
+    }
+
+    @Test
+    void anUnlistedCaregiverThatImprovesIsPatchedIn() {
+        load(2, List.of(
+                        giver("g1", Set.of("CPR", "Elder Care"), null, "0"),
+                        giver("g2", Set.of("CPR"), null, "0"),
+                        giver("g3", Set.of("CPR"), null, "1")),
+                List.of(seeker("s1", Set.of("CPR", "Elder Care"), null)));
+        assertThat(ids("s1")).containsExactly("g1", "g3");
+
+        matching.onCaregiverSaved(giver("g2", Set.of("CPR", "Elder Care"), null, "3"));
+
+        awaitIds("s1", List.of("g2", "g1"));
+    }
+
+    @Test
+    void unknownSeekerHasNoRecommendations() {
+        load(2, List.of(giver("g1", Set.of("CPR"), null, null)), List.of());
+
+        assertThat(matching.recommendationsFor("nobody")).isEmpty();
+    }
+
+    /* ========= fixtures ========= */
+
+    private List<String> ids(String seeker) {
+        return matching.recommendationsFor(seeker).stream().map(r -> r.card().id()).toList();
+    }
+
+    // saves are applied on the matching-updates thread
+    private void awaitIds(String seeker, List<String> expected) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!ids(seeker).equals(expected) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertThat(ids(seeker)).containsExactlyElementsOf(expected);
+    }
+
+    private void load(int k, List<CareGiverProfile> givers, List<CareSeekerProfile> seekers) {
+        when(mongo.stream(any(Query.class), eq(CareGiverProfile.class))).thenReturn(givers.stream());
+        when(mongo.stream(any(Query.class), eq(CareSeekerProfile.class))).thenReturn(seekers.stream());
+        matching = new MatchingService(mongo, k);
+        matching.load();
+    }
+
+    private static CareGiverProfile giver(String id, Set<String> skills, String lang, String years) {
+        CareGiverProfile p = new CareGiverProfile();
+        p.setId(id);
+        p.setSkills(skills);
+        if (lang != null) {
+            CareGiverProfile.Lang l = new CareGiverProfile.Lang();
+            l.setLang(lang);
+            p.setLanguages(List.of(l));
+        }
+        p.setYears(years);
+        return p;
+    }
+
+    private static CareSeekerProfile seeker(String userId, Set<String> careTypes, String lang) {
+        CareSeekerProfile p = new CareSeekerProfile();
+        p.setUserId(userId);
+        p.setCareTypes(careTypes);
+        p.setLanguages(lang == null ? Set.of() : Set.of(lang));
+        return p;
+    }
+}
@@ -0,0 +1,45 @@
+package com.carenet.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicProfileCacheTest {
+
+    private static final byte[] V3 = "{\"version\":3}".getBytes();
+    private static final byte[] V4 = "{\"version\":4}".getBytes();
+
+    private final PublicProfileCache cache = new PublicProfileCache(10, 300);
+
+    @Test
+    void etagIsTheQuotedVersionAndAMatchIsAnswered304() {
+        PublicProfileCache.Entry e = cache.put("p1", 3L, V3);
+
+        assertThat(e.etag()).isEqualTo("\"3\"");
+        assertThat(PublicProfileCache.respond(e, "\"3\"").getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(PublicProfileCache.respond(e, "\"13\"").getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void aCopyReadBeforeASaveIsNotCachedAfterIt() {
+        cache.put("p1", 3L, V3);
+        cache.invalidate("p1", 4L);
+
+        // a GET that read version 3 before the save finishes after it
+        cache.put("p1", 3L, V3);
+        assertThat(cache.get("p1")).isNull();
+
+        cache.put("p1", 4L, V4);
+        assertThat(cache.get("p1")).isNotNull().satisfies(e -> assertThat(e.body()).isEqualTo(V4));
+    }
+
+    @Test
+    void profilesWithoutAVersionAreServedButNotCached() {
+        PublicProfileCache.Entry e = cache.put("p1", null, V3);
+
+        assertThat(e.etag()).isNull();
+        assertThat(PublicProfileCache.respond(e, "\"3\"").getHeaders().getETag()).isNull();
+        assertThat(cache.get("p1")).isNull();
+    }
+}
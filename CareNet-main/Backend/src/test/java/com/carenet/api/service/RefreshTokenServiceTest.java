@@ -0,0 +1,130 @@
+package com.carenet.api.service;
+
+import com.carenet.api.config.AppJwtProperties;
+import com.carenet.api.model.auth.RefreshToken;
+import com.carenet.api.repository.RefreshTokenRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenRepository tokens = mock(RefreshTokenRepository.class);
+    private final MongoTemplate mongo = mock(MongoTemplate.class);
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        AppJwtProperties props = new AppJwtProperties();
+        props.setRefreshTtlSeconds(3600);
+        service = new RefreshTokenService(tokens, mongo, props);
+    }
+
+    @Test
+    void issueStoresOnlyTheHashOfANewFamily() {
+        String raw = service.issue("u1", "a@b.c", Set.of("CAREGIVER"));
+
+        RefreshToken stored = inserted(1);
+        assertThat(stored.getTokenHash()).hasSize(64).isNotEqualTo(raw);
+        assertThat(stored.getFamilyId()).isNotBlank();
+        assertThat(stored.getUsedAt()).isNull();
+        assertThat(stored.getExpiresAt()).isAfter(Instant.now().plusSeconds(3500));
+    }
+
+    @Test
+    void rotationMarksTheTokenUsedAndContinuesTheFamily() {
+        String raw = service.issue("u1", "a@b.c", Set.of("CAREGIVER"));
+        RefreshToken first = inserted(1);
+        first.setUsedAt(Instant.now());
+        when(mongo.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(RefreshToken.class)))
+                .thenReturn(first);
+
+        Optional<RefreshTokenService.Rotated> rotated = service.rotate(raw, t -> true);
+
+        assertThat(rotated).isPresent();
+        assertThat(rotated.get().previous()).isSameAs(first);
+        assertThat(rotated.get().nextToken()).isNotEqualTo(raw);
+        RefreshToken next = inserted(2);
+        assertThat(next.getFamilyId()).isEqualTo(first.getFamilyId());
+        assertThat(next.getTokenHash()).isNotEqualTo(first.getTokenHash());
+        verify(tokens, never()).deleteByFamilyId(anyString());
+    }
+
+    @Test
+    void reuseOfARotatedTokenRevokesTheWholeFamily() {
+        String raw = service.issue("u1", "a@b.c", Set.of("CAREGIVER"));
+        RefreshToken used = inserted(1);
+        used.setUsedAt(Instant.now());
+        // the conditional findAndModify (usedAt == null) no longer matches
+        when(tokens.findByTokenHash(used.getTokenHash())).thenReturn(Optional.of(used));
+
+        assertThat(service.rotate(raw, t -> true)).isEmpty();
+        verify(tokens).deleteByFamilyId(used.getFamilyId());
+    }
+
+    @Test
+    void unknownOrMerelyExpiredTokensAreRejectedWithoutRevoking() {
+        String raw = service.issue("u1", "a@b.c", Set.of("CAREGIVER"));
+        RefreshToken expired = inserted(1);   // never used, just past expiresAt
+        when(tokens.findByTokenHash(expired.getTokenHash())).thenReturn(Optional.of(expired));
+
+        assertThat(service.rotate(raw, t -> true)).isEmpty();
+        assertThat(service.rotate("not-a-token", t -> true)).isEmpty();
+        assertThat(service.rotate(" ", t -> true)).isEmpty();
+        verify(tokens, never()).deleteByFamilyId(anyString());
+    }
+
+    @Test
+    void aRejectedTokenIsReleasedSoItsRetryIsNotTakenForReuse() {
+        String raw = service.issue("u1", "a@b.c", Set.of("CAREGIVER"));
+        RefreshToken first = inserted(1);
+        first.setUsedAt(Instant.now());
+        when(mongo.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(RefreshToken.class)))
+                .thenReturn(first);
+
+        assertThat(service.rotate(raw, t -> false)).isEmpty();
+
+        ArgumentCaptor<Update> release = ArgumentCaptor.forClass(Update.class);
+        verify(mongo).updateFirst(any(Query.class), release.capture(), eq(RefreshToken.class));
+        assertThat(release.getValue().getUpdateObject().get("$unset", Document.class)).containsKey("usedAt");
+        verify(tokens, times(1)).insert(any(RefreshToken.class));   // no successor
+        verify(tokens, never()).deleteByFamilyId(anyString());
+    }
+
+    @Test
+    void logoutRevokesTheFamily() {
+        String raw = service.issue("u1", "a@b.c", Set.of("CAREGIVER"));
+        RefreshToken stored = inserted(1);
+        when(tokens.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        service.revoke(raw);
+
+        verify(tokens).deleteByFamilyId(stored.getFamilyId());
+    }
+
+    // the n-th token inserted so far
+    private RefreshToken inserted(int n) {
+        ArgumentCaptor<RefreshToken> c = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokens, times(n)).insert(c.capture());
+        return c.getAllValues().get(n - 1);
+    }
+}